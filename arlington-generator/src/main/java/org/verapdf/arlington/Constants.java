@@ -60,6 +60,8 @@ public class Constants {
 	public static final String FILE_SIZE = "fileSize";
 	public static final String KEY_NAME = "keyName";
 	public static final String KEYS_STRING = "keysString";
+	public static final String EXTRA_KEYS = "extraKeys";
+	public static final String FUTURE_KEYS = "futureKeys";
 	public static final String SIZE = "size";
 	public static final String NUMBER_OF_PAGES = "numberOfPages";
 	public static final String PAGE_CONTAINS_STRUCT_CONTENT_ITEMS = "pageContainsStructContentItems";
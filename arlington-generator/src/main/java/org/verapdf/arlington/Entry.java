@@ -8,6 +8,11 @@ import java.util.stream.Collectors;
 
 public class Entry implements Comparable<Entry> {
 	private String name;
+	//entry kind flags, classified once when the name is set
+	private boolean number;
+	private boolean star;
+	private boolean numberWithStar;
+	private boolean complex;
 	private MultiEntry multiEntry;
 	private List<Type> types;
 	private List<String> typesPredicates;
@@ -31,7 +36,7 @@ public class Entry implements Comparable<Entry> {
 	}
 
 	public Entry(Entry entry) {
-		this.name = entry.getName();
+		setName(entry.getName());
 		this.types = new LinkedList<>(entry.types);
 		this.typesPredicates = new LinkedList<>(entry.typesPredicates);
 		this.deprecatedVersion = entry.deprecatedVersion;
@@ -53,7 +58,7 @@ public class Entry implements Comparable<Entry> {
 
 	public static Entry getEntryFromJSON(JSONEntry jsonEntry) {
 		Entry entry = new Entry();
-		entry.name = jsonEntry.getName();
+		entry.setName(jsonEntry.getName());
 		entry.types = jsonEntry.getTypes();
 		entry.typesPredicates = jsonEntry.getTypesPredicates();
 		entry.sinceString = jsonEntry.getSinceString();
@@ -140,19 +145,41 @@ public class Entry implements Comparable<Entry> {
 	}
 
 	public Boolean isNumber() {
-		return isNumber(getName());
+		return number;
 	}
 
 	public static Boolean isNumber(String entryName) {
-		return entryName.matches(Constants.NUMBER_REGEX);
+		return isDigits(entryName, entryName.length());
 	}
 
 	public Boolean isStar() {
-		return Constants.STAR.equals(getName());
+		return star;
 	}
 
 	public Boolean isNumberWithStar() {
-		return getName().matches(Constants.NUMBER_WITH_STAR_REGEX);
+		return numberWithStar;
+	}
+
+	public static boolean isNumberWithStar(String entryName) {
+		int length = entryName.length();
+		return length > 1 && entryName.charAt(length - 1) == '*' && isDigits(entryName, length - 1);
+	}
+
+	public boolean isComplexEntry() {
+		return complex;
+	}
+
+	private static boolean isDigits(String string, int length) {
+		if (length == 0) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	public List<String> getPossibleValues(Type type) {
@@ -367,6 +394,10 @@ public class Entry implements Comparable<Entry> {
 
 	public void setName(String name) {
 		this.name = name;
+		this.number = name != null && isNumber(name);
+		this.star = Constants.STAR.equals(name);
+		this.numberWithStar = name != null && isNumberWithStar(name);
+		this.complex = name != null && isComplexEntry(name);
 	}
 
 	public Map<Type, String> getIndirectReference() {
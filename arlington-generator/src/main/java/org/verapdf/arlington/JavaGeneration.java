@@ -3,14 +3,39 @@ package org.verapdf.arlington;
 import javafx.util.Pair;
 import org.verapdf.arlington.linkHelpers.*;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 
 public class JavaGeneration {
 
+	private static final boolean MEMOIZE_ENTRIES = Boolean.getBoolean("arlington.java.memoize");
+	private static final boolean BIND_FLAVOUR = Boolean.getBoolean("arlington.java.bindFlavour");
+	private static final boolean LAZY_LINKS = Boolean.getBoolean("arlington.java.lazyLinks");
+	private static final boolean OFF_HEAP_KEYS = Boolean.getBoolean("arlington.java.offHeapKeys");
+	private static final boolean SHARED_OBJECTS = Boolean.getBoolean("arlington.java.sharedObjects");
+	private static final int LINK_CACHE_SIZE = Integer.getInteger("arlington.java.linkCacheSize", 0);
+	private static final String RESOLVED_LINK_POSTFIX = "Resolved";
+	private static final String FLAVOUR_SWITCH = BIND_FLAVOUR ? "\t\tswitch (this.flavour) {" :
+			"\t\tswitch (StaticContainers.getFlavour()) {";
+	private static final String CONSTANTS_CLASS_NAME = "GFAConstants";
+	private static final String MODEL_IDS_CLASS_NAME = "GFAModelIds";
+	private static final Set<String> asAtomNames = new ConcurrentSkipListSet<>();
+
+	private static final Map<String, Type> DOCUMENT_FACTS = new LinkedHashMap<>();
+
 	private final PrintWriter javaWriter;
+	private boolean linkResolutionDependsOnContext;
+
+	static {
+		DOCUMENT_FACTS.put(Constants.NUMBER_OF_PAGES, Type.INTEGER);
+		DOCUMENT_FACTS.put(Constants.FILE_SIZE, Type.INTEGER);
+		DOCUMENT_FACTS.put(Constants.IS_PDF_TAGGED, Type.BOOLEAN);
+		DOCUMENT_FACTS.put(Constants.IS_ENCRYPTED_WRAPPER, Type.BOOLEAN);
+	}
 
 	public JavaGeneration(PrintWriter javaWriter) {
 		this.javaWriter = javaWriter;
@@ -21,13 +46,35 @@ public class JavaGeneration {
 		addPackageAndImportsToClass(Constants.OBJECT);
 		javaWriter.println("public class GFAObject extends GenericModelObject implements AObject {");
 		javaWriter.println();
-		javaWriter.println("\tprivate static final List<String> standardFonts = new LinkedList<>();");
+		javaWriter.println("\tprivate static final Set<String> standardFonts = new HashSet<>();");
 		javaWriter.println("\tprivate static final ThreadLocal<Set<COSKey>> keysSet = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<COSKeySet> visitedKeys = new ThreadLocal<>();");
+		if (SHARED_OBJECTS) {
+			javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, Map<Class<?>, GFAObject>>> sharedObjects = new ThreadLocal<>();");
+		}
+		if (LINK_CACHE_SIZE > 0) {
+			javaWriter.println("\tprivate static final ThreadLocal<Map<LinkCacheKey, String>> linkResolutions = new ThreadLocal<>();");
+			javaWriter.println("\tprivate static final ThreadLocal<LinkCacheCounters> linkCacheCounters = new ThreadLocal<>();");
+		}
+		javaWriter.println("\tprivate static final ThreadLocal<DocumentFacts> documentFacts = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, TreeIndex>> nameTreesIndexes = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, TreeIndex>> numberTreesIndexes = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, ArrayIndex>> indirectArraysIndexes = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSBase, ArrayIndex>> directArraysIndexes = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, Boolean>> pagesContainStructContentItems = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, List<COSObject>>> inheritanceChains = new ThreadLocal<>();");
+		javaWriter.println("\tprivate static final ThreadLocal<Map<COSKey, Map<ASAtom, COSObject>>> inheritedValues = new ThreadLocal<>();");
 //		javaWriter.println("\tprivate static final ThreadLocal<Set<COSKey>> afKeysSet = new ThreadLocal<>();");
 		javaWriter.println("\tprotected static final String PDF_DATE_FORMAT_REGEX = \"(D:)?(\\\\d\\\\d){2,7}(([Z+-]\\\\d\\\\d'(\\\\d\\\\d'?)?)?|Z)\";");
 
 		javaWriter.println("\tprotected final COSBase baseObject;");
 		javaWriter.println("\tprotected COSBase parentObject;");
+		if (BIND_FLAVOUR) {
+			javaWriter.println("\tprotected final org.verapdf.pdfa.flavours.PDFAFlavour flavour = StaticContainers.getFlavour();");
+		}
+		if (MEMOIZE_ENTRIES) {
+			javaWriter.println("\tprotected static final COSObject MISSING_ENTRY = new COSObject(COSNull.NULL);");
+		}
 		javaWriter.println("\tprotected String keyName;");
 		javaWriter.println();
 
@@ -79,14 +126,14 @@ public class JavaGeneration {
 		javaWriter.println("\t}");
 		javaWriter.println();
 
-		printMethodSignature(true, "public", false, Type.INTEGER.getJavaType(),
-				getGetterName(Constants.NUMBER_OF_PAGES));
+		addDocumentFacts();
+
+		printDocumentFactGetterSignature(Constants.NUMBER_OF_PAGES);
 		javaWriter.println("\t\treturn (long) StaticResources.getDocument().getPages().size();");
 		javaWriter.println("\t}");
 		javaWriter.println();
 
-		printMethodSignature(true, "public", false, Type.INTEGER.getJavaType(),
-				getGetterName(Constants.FILE_SIZE));
+		printDocumentFactGetterSignature(Constants.FILE_SIZE);
 		javaWriter.println("\t\treturn StaticResources.getDocument().getDocument().getFileSize();");
 		javaWriter.println("\t}");
 		javaWriter.println();
@@ -101,6 +148,20 @@ public class JavaGeneration {
 		addArrayLengthMethod();
 		addArraySortAscendingMethod();
 		addKeysStringMethod();
+		addKeysSetMethods();
+		addTreeIndexMethods();
+		addArrayIndexMethods();
+		addCOSKeySetClass();
+		if (SHARED_OBJECTS) {
+			addGetSharedObjectMethod();
+		}
+		if (LINK_CACHE_SIZE > 0) {
+			addLinkCacheMethods();
+		}
+		if (LAZY_LINKS) {
+			addLazyLinkListClass();
+			addArrayLinkListClass();
+		}
 		addEntriesStringMethod();
 		addIsEncryptedWrapperMethod();
 		addHasCycleMethod();
@@ -116,15 +177,34 @@ public class JavaGeneration {
 			addGetValueMethod(type);
 			addHasTypeMethod(type);
 		}
+		addIndexedDispatchMethods(Collections.emptySet(), ModelGeneration.getTypePropertyNames(), true);
 
 		javaWriter.println("\tpublic static Set<COSKey> getKeysSet() {");
 		javaWriter.println("\t\tif (keysSet.get() == null) {");
-		javaWriter.println("\t\t\tkeysSet.set(new HashSet<>());");
+		javaWriter.println("\t\t\tkeysSet.set(new COSKeySet());");
 		javaWriter.println("\t\t}");
 		javaWriter.println("\t\treturn keysSet.get();");
 		javaWriter.println("\t}");
 		javaWriter.println();
 
+		javaWriter.println("\t//set is shared by all walks of the thread, walk using it must not call other walks using it");
+		javaWriter.println("\tprotected static COSKeySet getVisitedKeys() {");
+		javaWriter.println("\t\tif (visitedKeys.get() == null) {");
+		javaWriter.println("\t\t\tvisitedKeys.set(new COSKeySet());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tvisitedKeys.get().clear();");
+		javaWriter.println("\t\treturn visitedKeys.get();");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		javaWriter.println("\tprotected static Map<COSKey, Boolean> getPagesContainStructContentItems() {");
+		javaWriter.println("\t\tif (pagesContainStructContentItems.get() == null) {");
+		javaWriter.println("\t\t\tpagesContainStructContentItems.set(new HashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn pagesContainStructContentItems.get();");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
 		javaWriter.println("\tpublic static void setKeysSet(Set<COSKey> keysSet) {");
 		javaWriter.println("\t\tGFAObject.keysSet.set(keysSet);");
 		javaWriter.println("\t}");
@@ -144,7 +224,23 @@ public class JavaGeneration {
 //		javaWriter.println();
 
 		javaWriter.println("\tpublic static void clearAllContainers() {");
-		javaWriter.println("\t\tkeysSet.set(new HashSet<>());");
+		javaWriter.println("\t\tkeysSet.set(new COSKeySet());");
+		javaWriter.println("\t\tvisitedKeys.remove();");
+		if (SHARED_OBJECTS) {
+			javaWriter.println("\t\tsharedObjects.remove();");
+		}
+		if (LINK_CACHE_SIZE > 0) {
+			javaWriter.println("\t\tlinkResolutions.remove();");
+			javaWriter.println("\t\tlinkCacheCounters.remove();");
+		}
+		javaWriter.println("\t\tnameTreesIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\tnumberTreesIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\tindirectArraysIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\tdirectArraysIndexes.set(new IdentityHashMap<>());");
+		javaWriter.println("\t\tpagesContainStructContentItems.set(new HashMap<>());");
+		javaWriter.println("\t\tinheritanceChains.set(new HashMap<>());");
+		javaWriter.println("\t\tinheritedValues.set(new HashMap<>());");
+		javaWriter.println("\t\tdocumentFacts.remove();");
 //		javaWriter.println("\t\tafKeysSet.set(new HashSet<>());");
 		javaWriter.println("\t}");
 		javaWriter.println();
@@ -173,8 +269,7 @@ public class JavaGeneration {
 	}
 
 	public void addIsEncryptedWrapperMethod() {
-		printMethodSignature(true, "public", false, Type.BOOLEAN.getJavaType(),
-				getGetterName(Constants.IS_ENCRYPTED_WRAPPER));
+		printDocumentFactGetterSignature(Constants.IS_ENCRYPTED_WRAPPER);
 		javaWriter.println("\t\tPDDocument document = StaticResources.getDocument();");
 		javaWriter.println("\t\tif (document == null) {");
 		javaWriter.println("\t\t\treturn false;");
@@ -209,7 +304,7 @@ public class JavaGeneration {
 		javaWriter.println("\t\tif (object == null) {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tSet<COSKey> visitedKeys = new HashSet<>();");
+		javaWriter.println("\t\tCOSKeySet visitedKeys = getVisitedKeys();");
 		javaWriter.println("\t\twhile (!object.empty() && object.knownKey(entryName)) {");
 		javaWriter.println("\t\t\tif (object.getKey() != null) {");
 		javaWriter.println("\t\t\t\tif (visitedKeys.contains(object.getKey())) {");
@@ -360,22 +455,36 @@ public class JavaGeneration {
 	}
 
 	public boolean getDefaultObject(Object multiObject, String entryName) {
-		Map<String, List<PDFVersion>> map = MultiEntry.getDefaultValueMap(multiObject, entryName);
+		Set<String> constantValues = new HashSet<>();
+		Map<String, List<PDFVersion>> map = MultiEntry.getDefaultValueMap(multiObject, entryName, constantValues);
 		if (map.isEmpty()) {
 			return false;
 		}
+		Map<String, String> constantNames = new HashMap<>();
+		String constantName = Entry.getDefaultValuePropertyName(entryName) + "Constant";
+		for (String value : map.keySet()) {
+			if (constantValues.contains(value)) {
+				String name = constantName + (constantNames.isEmpty() ? "" : constantNames.size());
+				constantNames.put(value, name);
+				javaWriter.println("\tprivate static final COSObject " + name + " = " + value + ";");
+			}
+		}
+		if (!constantNames.isEmpty()) {
+			javaWriter.println();
+		}
 		printMethodSignature(false, "public", false, "COSObject",
 				getGetterName(Entry.getDefaultValuePropertyName(entryName)));
 		if (map.size() == 1 && map.values().iterator().next().size() == PDFVersion.values().length) {
-			javaWriter.println("\t\treturn " + map.keySet().iterator().next() + ";");
+			String value = map.keySet().iterator().next();
+			javaWriter.println("\t\treturn " + constantNames.getOrDefault(value, value) + ";");
 		} else {
-			javaWriter.println("\t\tswitch (StaticContainers.getFlavour()) {");
+			javaWriter.println(FLAVOUR_SWITCH);
 			for (Map.Entry<String, List<PDFVersion>> value : map.entrySet()) {
 				for (PDFVersion version : value.getValue()) {
 					javaWriter.println("\t\t\tcase ARLINGTON" + version.getStringWithUnderScore() + ":");
 				}
 				String obj = value.getKey();
-				javaWriter.println("\t\t\t\treturn " + obj + ";");
+				javaWriter.println("\t\t\t\treturn " + constantNames.getOrDefault(obj, obj) + ";");
 			}
 			javaWriter.println("\t\t}");
 			javaWriter.println("\t\treturn null;");
@@ -404,9 +513,7 @@ public class JavaGeneration {
 		Main.addImport(javaWriter, "org.verapdf.pd.PDNameTreeNode");
 		Main.addImport(javaWriter, "org.verapdf.as.ASAtom");
 		Main.addImport(javaWriter, "java.util.stream.Collectors");
-		if (!Constants.OBJECT.equals(objectName)) {
-			Main.addImport(javaWriter, "org.verapdf.pd.structure.PDNumberTreeNode");
-		}
+		Main.addImport(javaWriter, "org.verapdf.pd.structure.PDNumberTreeNode");
 		if (Constants.PAGE_OBJECT.equals(objectName)) {
 			Main.addImport(javaWriter, "org.verapdf.model.tools.constants.Operators");
 			Main.addImport(javaWriter, "org.verapdf.operator.Operator");
@@ -470,7 +577,7 @@ public class JavaGeneration {
 				javaWriter.println("\t\t\treturn " + getMethodCall(getGetterName(linkName + type.getType() + methodNamePostfix +
 						mapEntry.getKey() + version.getStringWithUnderScore()), "base", "keyName") + ";");
 			} else {
-				javaWriter.println("\t\t\treturn " + constructorGFAObject(entry.getName(), mapEntry.getValue().iterator().next(),
+				javaWriter.println("\t\t\treturn " + linkedGFAObject(entry.getName(), mapEntry.getValue().iterator().next(),
 						"base", "this.baseObject", "keyName") + ";");
 			}
 			javaWriter.println("\t\t}");
@@ -481,7 +588,7 @@ public class JavaGeneration {
 				javaWriter.println("\t\treturn " + getMethodCall(getGetterName(linkName + type.getType() + 
 						methodNamePostfix + "_" + version.getStringWithUnderScore()), "base", "keyName") + ";");
 			} else {
-				javaWriter.println("\t\treturn " + constructorGFAObject(entry.getName(), defaultSet.iterator().next(),
+				javaWriter.println("\t\treturn " + linkedGFAObject(entry.getName(), defaultSet.iterator().next(),
 						"base", "this.baseObject", "keyName") + ";");
 			}
 		} else {
@@ -533,6 +640,9 @@ public class JavaGeneration {
 	private void calculateSubtype(Object object, Entry entry, Key key) {
 		String objectName = key.isParent() ? "this.baseObject" : "base";
 		String keyName = key.isParent() && "FDecodeParms".equals(entry.getName()) ? "FFilter" : key.getKeyName();
+		if (key.isParent() || Constants.ARRAY_OF_DECODE_PARAMS_ENTRY.equals(object.getId())) {
+			linkResolutionDependsOnContext = true;
+		}
 		if (Constants.ARRAY_OF_DECODE_PARAMS_ENTRY.equals(object.getId())) {
 			javaWriter.println("\t\tString name = \"FDecodeParms\".equals(collectionName) ? \"FFilter\" : \"Filter\";");
 			javaWriter.println("\t\tCOSObject object = this.parentParentObject.getKey(ASAtom.getASAtom(name));");
@@ -550,17 +660,12 @@ public class JavaGeneration {
 			javaWriter.println("\t\tCOSObject subtype = " + objectName + ".getKey(" + getASAtomFromString(keyName) + ");");
 		}
 		if (key.isInherited()) {
-			javaWriter.println("\t\tCOSObject parent = " + objectName + ".getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
-			javaWriter.println("\t\tSet<COSKey> visitedKeys = new HashSet<>();");
-			javaWriter.println("\t\twhile ((subtype == null || subtype.empty()) && (parent != null && !parent.empty())) {");
-			javaWriter.println("\t\t\tsubtype = parent.getKey(" + getASAtomFromString(keyName) + ");");
-			javaWriter.println("\t\t\tif (parent.getKey() != null) {");
-			javaWriter.println("\t\t\t\tif (visitedKeys.contains(parent.getKey())) {");
-			javaWriter.println("\t\t\t\t\tbreak;");
-			javaWriter.println("\t\t\t\t}");
-			javaWriter.println("\t\t\t\tvisitedKeys.add(parent.getKey());");
+			javaWriter.println("\t\tif (subtype == null || subtype.empty()) {");
+			javaWriter.println("\t\t\tCOSObject inheritedSubtype = getInheritedValue(" + objectName + ".getKey(" +
+					getASAtomFromString(Constants.PARENT_KEY) + "), " + getASAtomFromString(keyName) + ");");
+			javaWriter.println("\t\t\tif (inheritedSubtype != null) {");
+			javaWriter.println("\t\t\t\tsubtype = inheritedSubtype;");
 			javaWriter.println("\t\t\t}");
-			javaWriter.println("\t\t\tparent = parent.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
 			javaWriter.println("\t\t}");
 		}
 	}
@@ -578,7 +683,7 @@ public class JavaGeneration {
 		if (defaultSet.isEmpty()) {
 			javaWriter.println("\t\t\treturn null;");
 		} else if (defaultSet.size() == 1) {
-			javaWriter.println("\t\t\treturn " + constructorGFAObject(entry.getName(), defaultSet.iterator().next(),
+			javaWriter.println("\t\t\treturn " + linkedGFAObject(entry.getName(), defaultSet.iterator().next(),
 					"base", "this.baseObject", "keyName") + ";");
 		} else {
 			javaWriter.println("\t\t\treturn " + getMethodCall(getGetterName(linkName + type.getType() + methodNamePostfix + 
@@ -612,7 +717,7 @@ public class JavaGeneration {
 				if (links.get(index1).contains(PredicatesParser.PREDICATE_PREFIX)) {
 					linkPredicate(object, entry, type, version, links.get(index1), Type.ENTRY);
 				}
-				javaWriter.println("\t\t\t\treturn " + constructorGFAObject(entry.getName(), link, "base",
+				javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), link, "base",
 						"this.baseObject", "keyName") + ";");
 			}
 		}
@@ -639,7 +744,7 @@ public class JavaGeneration {
 			if (helper != null) {
 				if (helper.getKeyName() != null) {
 					javaWriter.println("\t\t\tcase \"" + helper.getKeyName() + "\":");
-					javaWriter.println("\t\t\t\treturn " + constructorGFAObject(entry.getName(), link, "base",
+					javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), link, "base",
 							"this.baseObject", "keyName") + ";");
 				} else {
 					defaultLink = link;
@@ -648,7 +753,7 @@ public class JavaGeneration {
 		}
 		javaWriter.println("\t\t\tdefault:");
 		if (defaultLink != null) {
-			javaWriter.println("\t\t\t\treturn " + constructorGFAObject(entry.getName(), defaultLink, "base",
+			javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), defaultLink, "base",
 					"this.baseObject", "keyName") + ";");
 		} else {
 			javaWriter.println("\t\t\t\treturn null;");
@@ -681,7 +786,7 @@ public class JavaGeneration {
 				javaWriter.println("\t\t\t\treturn " + getMethodCall(getGetterName(linkName + type.getType() + methodNamePostfix +
 						mapEntry.getKey().getType() + version.getStringWithUnderScore()), "base", "keyName") + ";");
 			} else {
-				javaWriter.println("\t\t\t\treturn " + constructorGFAObject(entry.getName(), mapEntry.getValue().iterator().next(), "base",
+				javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), mapEntry.getValue().iterator().next(), "base",
 						"this.baseObject", "keyName") + ";");
 			}
 		}
@@ -767,15 +872,8 @@ public class JavaGeneration {
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
 		javaWriter.println("\t\tCOSObject " + correctName2 + " = " + getMethodCall(getGetterName(Entry.getValuePropertyName(name2))) + ";");
-		javaWriter.println("\t\tfor (COSObject entry : ((COSArray)" + correctName1 + ".getDirectBase())) {");
-		javaWriter.println("\t\t\tif (entry.getType() == " + Type.DICTIONARY.getCosObjectType() + ") {");
-		javaWriter.println("\t\t\t\tCOSObject NM = entry.getKey(" + getASAtomFromString("NM") + ");");
-		javaWriter.println("\t\t\t\tif (Objects.equals(NM.getString(), " + correctName2 + ".getString())) {");
-		javaWriter.println("\t\t\t\t\treturn true;");
-		javaWriter.println("\t\t\t\t}");
-		javaWriter.println("\t\t\t}");
-		javaWriter.println("\t\t}");
-		javaWriter.println("\t\treturn false;");
+		javaWriter.println("\t\treturn " + getMethodCall("getArrayIndex", correctName1) + ".containsNMValue(" +
+				correctName2 + " != null ? " + correctName2 + ".getString() : null);");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -835,7 +933,7 @@ public class JavaGeneration {
 				javaWriter.println("\t\t\t\treturn " + getMethodCall(getGetterName(linkName + type.getType() + methodNamePostfix +
 						mapEntry.getKey() + version.getStringWithUnderScore()), "base", "keyName") + ";");
 			} else {
-				javaWriter.println("\t\t\t\treturn " + constructorGFAObject(entry.getName(), mapEntry.getValue().iterator().next(),
+				javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), mapEntry.getValue().iterator().next(),
 						"base", "this.baseObject", "keyName") + ";");
 			}
 		}
@@ -901,7 +999,7 @@ public class JavaGeneration {
 				link = PredicatesParser.getPredicateLastArgument(link);
 			}
 			javaWriter.println("\t\t\tList<" + Object.getModelType(link) + "> list = new ArrayList<>(1);");
-			javaWriter.println("\t\t\tlist.add(" + constructorGFAObject(entry.getName(), link, "(" +
+			javaWriter.println("\t\t\tlist.add(" + linkedGFAObject(entry.getName(), link, "(" +
 					type.getParserClassName() + ")object.getDirectBase()", parentObject, entryName) + ");");
 		} else {
 			Set<String> correctLinks = entry.getLinksWithoutPredicatesSet(type);
@@ -928,6 +1026,10 @@ public class JavaGeneration {
 		String returnObjectType = Constants.OBJECT.equals(returnType) ? Constants.BASE_MODEL_OBJECT_PATH : returnType;
 		printMethodSignature(false, "private", false, "List<" + returnObjectType + ">",
 				getGetterName(linkName + version.getStringWithUnderScore()));
+		if (LAZY_LINKS) {
+			addLazyMultiLink(object, entry, linkName, returnObjectType, version);
+			return;
+		}
 		javaWriter.println("\t\tList<" + returnObjectType + "> list = new LinkedList<>();");
 		String keyName = getObjectForMultiLinkMethod(object);
 		for (Type type : entry.getUniqLinkTypes()) {
@@ -943,10 +1045,10 @@ public class JavaGeneration {
 			if (links.isEmpty()) {
 				continue;
 			}
-			addObjectToListMultiLink(version, object, entry, type, links, linkName, keyName);
+			addObjectToListMultiLink(version, object, entry, type, links, linkName, keyName, false);
 		}
 		if (entry.getUniqLinkTypes().contains(Type.ENTRY)) {
-			javaWriter.println("\t\t\tlist.add(" + constructorGFAObject(entry.getName(), entry.getLinks(Type.ENTRY).get(0),
+			javaWriter.println("\t\t\tlist.add(" + linkedGFAObject(entry.getName(), entry.getLinks(Type.ENTRY).get(0),
 					"object != null ? object.get() : null", "this.baseObject", keyName) + ");");
 		}
 		javaWriter.println("\t\t}");
@@ -955,6 +1057,91 @@ public class JavaGeneration {
 		javaWriter.println();
 	}
 
+	/**
+	 * Prints body of multi link getter returning LazyLinkList over keys, array indexes or tree values
+	 * (or ArrayLinkList if all array elements have linked objects) and the method creating linked object
+	 * for one of them, which returns null if there is no linked object.
+	 */
+	private void addLazyMultiLink(Object object, Entry entry, String linkName, String returnObjectType,
+								  PDFVersion version) {
+		String elementMethodName = getGetterName(linkName + "Element" + version.getStringWithUnderScore());
+		String source;
+		String parameter;
+		String keyName;
+		if (object.isArray()) {
+			source = "() -> java.util.stream.IntStream.range(" + (object.getEntries().size() - 1) +
+					", baseObject.size()).iterator()";
+			parameter = "Integer i";
+			keyName = "String.valueOf(i)";
+		} else if (object.isNameTree()) {
+			source = "PDNameTreeNode.create(new COSObject(baseObject))";
+			parameter = "COSObject object";
+			keyName = "null";
+		} else if (object.isNumberTree()) {
+			source = "new PDNumberTreeNode(new COSObject(baseObject))";
+			parameter = "COSObject object";
+			keyName = "null";
+		} else {
+			source = "baseObject.getKeySet()";
+			parameter = "ASAtom key";
+			keyName = "key.getValue()";
+		}
+		if (object.isArray() && isLinkedObjectNotNull(entry)) {
+			javaWriter.println("\t\treturn new ArrayLinkList<>(" + (object.getEntries().size() - 1) +
+					", baseObject.size(), this::" + elementMethodName + ");");
+		} else {
+			javaWriter.println("\t\treturn new LazyLinkList<>(" + source + ", this::" + elementMethodName + ");");
+		}
+		javaWriter.println("\t}");
+		javaWriter.println();
+		printMethodSignature(false, "private", false, returnObjectType, elementMethodName, parameter);
+		if (object.isArray()) {
+			javaWriter.println("\t\tCOSObject object = baseObject.at(i);");
+		} else if (!object.isNameTree() && !object.isNumberTree()) {
+			if (object.getEntries().size() > 1) {
+				javaWriter.println("\t\tif (" + getNotStarKeyCondition(object) + ") {");
+				javaWriter.println("\t\t\treturn null;");
+				javaWriter.println("\t\t}");
+			}
+			javaWriter.println("\t\tCOSObject object = this.baseObject.getKey(key);");
+		}
+		for (Type type : entry.getUniqLinkTypes()) {
+			if (Type.ENTRY == type) {
+				continue;
+			}
+			Set<String> links = entry.getLinks(type).stream().filter(s -> !s.contains(PredicatesParser.PREDICATE_PREFIX))
+					.collect(Collectors.toSet());
+			if (!links.isEmpty()) {
+				addObjectToListMultiLink(version, object, entry, type, links, linkName, keyName, true);
+			}
+		}
+		if (entry.getUniqLinkTypes().contains(Type.ENTRY)) {
+			javaWriter.println("\t\treturn " + linkedGFAObject(entry.getName(), entry.getLinks(Type.ENTRY).get(0),
+					"object != null ? object.get() : null", "this.baseObject", keyName) + ";");
+		} else {
+			javaWriter.println("\t\treturn null;");
+		}
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * @return true if linked object of multi link entry is created for any element, that is if there is entry link
+	 * and links of other types are created without choosing the type of linked object
+	 */
+	private static boolean isLinkedObjectNotNull(Entry entry) {
+		if (!entry.getUniqLinkTypes().contains(Type.ENTRY)) {
+			return false;
+		}
+		for (Type type : entry.getUniqLinkTypes()) {
+			if (Type.ENTRY != type && entry.getLinks(type).stream()
+					.filter(s -> !s.contains(PredicatesParser.PREDICATE_PREFIX)).distinct().count() > 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private String getObjectForMultiLinkMethod(Object object) {
 		if (object.isArray()) {
 			javaWriter.println("\t\tfor (int i = " + (object.getEntries().size() - 1) + "; i < baseObject.size(); i++) {");
@@ -971,14 +1158,7 @@ public class JavaGeneration {
 		}
 		javaWriter.println("\t\tfor (ASAtom key : baseObject.getKeySet()) {");
 		if (object.getEntries().size() > 1) {
-			StringBuilder condition = new StringBuilder();
-			for (Entry currentEntry : object.getEntries()) {
-				if (!currentEntry.isStar()) {
-					condition.append("\"").append(currentEntry.getName()).append("\".equals(key.getValue()) || ");
-				}
-			}
-			condition.delete(condition.length() - 4, condition.length());
-			javaWriter.println("\t\t\tif (" + condition + ") {");
+			javaWriter.println("\t\t\tif (" + getNotStarKeyCondition(object) + ") {");
 			javaWriter.println("\t\t\t\tcontinue;");
 			javaWriter.println("\t\t\t}");
 		}
@@ -986,30 +1166,54 @@ public class JavaGeneration {
 		return "key.getValue()";
 	}
 
+	/**
+	 * @return condition checking that key of multi link getter is one of keys described by not star entries
+	 */
+	private static String getNotStarKeyCondition(Object object) {
+		StringBuilder condition = new StringBuilder();
+		for (Entry currentEntry : object.getEntries()) {
+			if (!currentEntry.isStar()) {
+				condition.append("\"").append(currentEntry.getName()).append("\".equals(key.getValue()) || ");
+			}
+		}
+		condition.delete(condition.length() - 4, condition.length());
+		return condition.toString();
+	}
+
 	private void addObjectToListMultiLink(PDFVersion version, Object object, Entry entry, Type type, Set<String> links,
-										  String linkName, String keyName) {
-		javaWriter.println("\t\t\tif (object.getType() == " + type.getCosObjectType() + ") {");
+										  String linkName, String keyName, boolean isLazy) {
+		String indent = isLazy ? "\t\t" : "\t\t\t";
+		javaWriter.println(indent + "if (object.getType() == " + type.getCosObjectType() + ") {");
 		if (links.size() == 1) {
 			String link = links.iterator().next();
-			javaWriter.println("\t\t\t\tlist.add(" + constructorGFAObject(entry.getName(), link,
-					"(" + type.getParserClassName() + ")object.getDirectBase()",
-					"this.parentObject", keyName) + ");");
+			String constructor = linkedGFAObject(entry.getName(), link,
+					"(" + type.getParserClassName() + ")object.getDirectBase()", "this.parentObject", keyName);
+			javaWriter.println(indent + (isLazy ? "\treturn " + constructor + ";" : "\tlist.add(" + constructor + ");"));
 		} else {
 			if (LinkHelper.getMap(links, new LinkedList<>()) != null) {
-				javaWriter.println("\t\t\t\t" + Constants.BASE_MODEL_OBJECT_PATH + " result = " +
-						getMethodCall(getGetterName(linkName + type.getType() +
-								version.getStringWithUnderScore()), "object.getDirectBase()", keyName) + ";");
-				javaWriter.println("\t\t\t\tif (result != null) {");
-				javaWriter.println("\t\t\t\t\tlist.add(result);");
-				javaWriter.println("\t\t\t\t}");
+				String getter = getMethodCall(getGetterName(linkName + type.getType() +
+						version.getStringWithUnderScore()), "object.getDirectBase()", keyName);
+				if (isLazy) {
+					javaWriter.println(indent + "\treturn " + getter + ";");
+				} else {
+					javaWriter.println(indent + "\t" + Constants.BASE_MODEL_OBJECT_PATH + " result = " + getter + ";");
+					javaWriter.println(indent + "\tif (result != null) {");
+					javaWriter.println(indent + "\t\tlist.add(result);");
+					javaWriter.println(indent + "\t}");
+				}
 			} else {
-				javaWriter.println("\t\t\t\t//todo");
+				javaWriter.println(indent + "\t//todo");
+				if (isLazy) {
+					javaWriter.println(indent + "\treturn null;");
+				}
 				Main.LOGGER.log(Level.WARNING, Main.getString(version, object, entry, type) +
 						" Several dictionaries/streams/arrays " + String.join(",", entry.getLinks(type)));
 			}
 		}
-		javaWriter.println("\t\t\t\tcontinue;");
-		javaWriter.println("\t\t\t}");
+		if (!isLazy) {
+			javaWriter.println(indent + "\tcontinue;");
+		}
+		javaWriter.println(indent + "}");
 	}
 
 	public void addGetInheritable(String objectId, String entryName) {
@@ -1022,20 +1226,65 @@ public class JavaGeneration {
 	}
 
 	public void addGetInheritable() {
+		//chains of parents and inherited values are memoized per node key and document
 		printMethodSignature(false, "public", false, "COSObject",
 				getGetterName(Constants.INHERITABLE_VALUE),"ASAtom key");
+		javaWriter.println("\t\treturn getInheritedValue(this.baseObject.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + "), key);");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected static List<COSObject> getInheritanceChain(COSObject node) {");
+		javaWriter.println("\t\tif (node == null || node.empty()) {");
+		javaWriter.println("\t\t\treturn Collections.emptyList();");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tCOSKey nodeKey = node.getKey();");
+		javaWriter.println("\t\tif (nodeKey == null) {");
+		javaWriter.println("\t\t\tList<COSObject> chain = new ArrayList<>();");
+		javaWriter.println("\t\t\tchain.add(node);");
+		javaWriter.println("\t\t\tchain.addAll(getInheritanceChain(node.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ")));");
+		javaWriter.println("\t\t\treturn chain;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (inheritanceChains.get() == null) {");
+		javaWriter.println("\t\t\tinheritanceChains.set(new HashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tList<COSObject> chain = inheritanceChains.get().get(nodeKey);");
+		javaWriter.println("\t\tif (chain != null) {");
+		javaWriter.println("\t\t\treturn chain;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tchain = new ArrayList<>();");
+		javaWriter.println("\t\tCOSKeySet visitedKeys = getVisitedKeys();");
+		javaWriter.println("\t\tCOSObject currentObject = node;");
+		javaWriter.println("\t\twhile (currentObject != null && !currentObject.empty()) {");
+		javaWriter.println("\t\t\tif (currentObject.getKey() != null && !visitedKeys.add(currentObject.getKey())) {");
+		javaWriter.println("\t\t\t\tbreak;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tchain.add(currentObject);");
+		javaWriter.println("\t\t\tcurrentObject = currentObject.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tinheritanceChains.get().put(nodeKey, chain);");
+		javaWriter.println("\t\treturn chain;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected static COSObject getInheritedValue(COSObject node, ASAtom key) {");
+		javaWriter.println("\t\tCOSKey nodeKey = node != null ? node.getKey() : null;");
+		javaWriter.println("\t\tMap<ASAtom, COSObject> values = null;");
+		javaWriter.println("\t\tif (nodeKey != null) {");
+		javaWriter.println("\t\t\tif (inheritedValues.get() == null) {");
+		javaWriter.println("\t\t\t\tinheritedValues.set(new HashMap<>());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tvalues = inheritedValues.get().computeIfAbsent(nodeKey, k -> new HashMap<>());");
+		javaWriter.println("\t\t\tif (values.containsKey(key)) {");
+		javaWriter.println("\t\t\t\treturn values.get(key);");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t}");
 		javaWriter.println("\t\tCOSObject keyObject = null;");
-		javaWriter.println("\t\tCOSObject currentObject = this.baseObject.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
-		javaWriter.println("\t\tSet<COSKey> visitedKeys = new HashSet<>();");
-		javaWriter.println("\t\twhile ((keyObject == null || keyObject.empty()) && (currentObject != null && !currentObject.empty())) {");
+		javaWriter.println("\t\tfor (COSObject currentObject : getInheritanceChain(node)) {");
 		javaWriter.println("\t\t\tkeyObject = currentObject.getKey(key);");
-		javaWriter.println("\t\t\tif (currentObject.getKey() != null) {");
-		javaWriter.println("\t\t\t\tif (visitedKeys.contains(currentObject.getKey())) {");
-		javaWriter.println("\t\t\t\t\tbreak;");
-		javaWriter.println("\t\t\t\t}");
-		javaWriter.println("\t\t\t\tvisitedKeys.add(currentObject.getKey());");
+		javaWriter.println("\t\t\tif (keyObject != null && !keyObject.empty()) {");
+		javaWriter.println("\t\t\t\tbreak;");
 		javaWriter.println("\t\t\t}");
-		javaWriter.println("\t\t\tcurrentObject = currentObject.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (values != null) {");
+		javaWriter.println("\t\t\tvalues.put(key, keyObject);");
 		javaWriter.println("\t\t}");
 		javaWriter.println("\t\treturn keyObject;");
 		javaWriter.println("\t}");
@@ -1087,6 +1336,7 @@ public class JavaGeneration {
 			return;
 		}
 		newLink = PredicatesParser.removeBrackets(newLink);
+		linkResolutionDependsOnContext = true;
 		if (Type.ARRAY.equals(returnType)) {
 			javaWriter.println("\t\t\tif (" + newLink + ") {");
 			javaWriter.println("\t\t\t\treturn Collections.emptyList();");
@@ -1119,7 +1369,7 @@ public class JavaGeneration {
 			Entry number = object.getEntry(numbers.get(i) + "*");
 			javaWriter.println("\t\t\tif (array.size() == " + i + " && child.getType() != " +
 					number.getTypes().iterator().next().getCosObjectType() + ") {");
-			javaWriter.println("\t\t\t\tlist.add(" + constructorGFAObject(entry.getName(),
+			javaWriter.println("\t\t\t\tlist.add(" + linkedGFAObject(entry.getName(),
 					entry.getLinks(Type.SUB_ARRAY).iterator().next(), "array.getDirectBase()",
 					"this.parentObject", "null") + ");");
 			javaWriter.println("\t\t\t\tarray = COSArray.construct();");
@@ -1127,14 +1377,14 @@ public class JavaGeneration {
 		}
 		javaWriter.println("\t\t\tarray.add(child);");
 		javaWriter.println("\t\t\tif (array.size() == " + numbers.size() + ") {");
-		javaWriter.println("\t\t\t\tlist.add(" + constructorGFAObject(entry.getName(),
+		javaWriter.println("\t\t\t\tlist.add(" + linkedGFAObject(entry.getName(),
 				entry.getLinks(Type.SUB_ARRAY).iterator().next(), "array.getDirectBase()",
 				"this.parentObject", "null") + ");");
 		javaWriter.println("\t\t\t\tarray = COSArray.construct();");
 		javaWriter.println("\t\t\t}");
 		javaWriter.println("\t\t}");
 		javaWriter.println("\t\tif (array.size() > 0) {");
-		javaWriter.println("\t\t\tlist.add(" + constructorGFAObject(entry.getName(),
+		javaWriter.println("\t\t\tlist.add(" + linkedGFAObject(entry.getName(),
 				entry.getLinks(Type.SUB_ARRAY).iterator().next(), "array.getDirectBase()",
 				"this.parentObject", "null") + ");");
 		javaWriter.println("\t\t}");
@@ -1186,18 +1436,12 @@ public class JavaGeneration {
 	private void addContainsInheritableValueMethod() {
 		printMethodSignature(false, "public", false, Type.BOOLEAN.getJavaType(),
 				Constants.IS_CONTAINS_INHERITABLE_VALUE, "ASAtom key");
-		javaWriter.println("\t\tCOSObject currentObject = new COSObject(this.baseObject);");
-		javaWriter.println("\t\tSet<COSKey> visitedKeys = new HashSet<>();");
-		javaWriter.println("\t\twhile (currentObject != null && !currentObject.empty() && !currentObject.knownKey(key)) {");
-		javaWriter.println("\t\t\tif (currentObject.getKey() != null) {");
-		javaWriter.println("\t\t\t\tif (visitedKeys.contains(currentObject.getKey())) {");
-		javaWriter.println("\t\t\t\t\tbreak;");
-		javaWriter.println("\t\t\t\t}");
-		javaWriter.println("\t\t\t\tvisitedKeys.add(currentObject.getKey());");
+		javaWriter.println("\t\tfor (COSObject currentObject : getInheritanceChain(new COSObject(this.baseObject))) {");
+		javaWriter.println("\t\t\tif (currentObject.knownKey(key)) {");
+		javaWriter.println("\t\t\t\treturn true;");
 		javaWriter.println("\t\t\t}");
-		javaWriter.println("\t\t\tcurrentObject = currentObject.getKey(" + getASAtomFromString(Constants.PARENT_KEY) + ");");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\treturn currentObject != null && !currentObject.empty() && currentObject.knownKey(key);");
+		javaWriter.println("\t\treturn false;");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1205,24 +1449,24 @@ public class JavaGeneration {
 	private void addProcessAFMethod() {
 		printMethodSignature(false, "public", true, "void",
 				"processAF", "COSBase object");
-		javaWriter.println("\t\tCOSObject AF = object.getKey(ASAtom.getASAtom(\"AF\"));");
+		javaWriter.println("\t\tCOSObject AF = object.getKey(" + getASAtomFromString("AF") + ");");
 		javaWriter.println("\t\tif (AF == null) {");
 		javaWriter.println("\t\t\treturn;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tCOSObject EF = AF.getKey(ASAtom.getASAtom(\"EF\"));");
+		javaWriter.println("\t\tCOSObject EF = AF.getKey(" + getASAtomFromString("EF") + ");");
 		javaWriter.println("\t\tif (EF != null) {");
-		javaWriter.println("\t\t\tCOSObject F = EF.getKey(ASAtom.getASAtom(\"F\"));");
+		javaWriter.println("\t\t\tCOSObject F = EF.getKey(" + getASAtomFromString("F") + ");");
 		javaWriter.println("\t\t\tif (F != null) {");
 		javaWriter.println("\t\t\t\tGFAObject.getAFKeysSet().add(F.getObjectKey());");
 		javaWriter.println("\t\t\t}");
-		javaWriter.println("\t\t\tCOSObject UF = EF.getKey(ASAtom.getASAtom(\"UF\"));");
+		javaWriter.println("\t\t\tCOSObject UF = EF.getKey(" + getASAtomFromString("UF") + ");");
 		javaWriter.println("\t\t\tif (UF != null) {");
 		javaWriter.println("\t\t\t\tGFAObject.getAFKeysSet().add(UF.getObjectKey());");
 		javaWriter.println("\t\t\t}");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tCOSObject RF = AF.getKey(ASAtom.getASAtom(\"RF\"));");
+		javaWriter.println("\t\tCOSObject RF = AF.getKey(" + getASAtomFromString("RF") + ");");
 		javaWriter.println("\t\tif (RF != null) {");
-		javaWriter.println("\t\t\tCOSObject F = RF.getKey(ASAtom.getASAtom(\"F\"));");
+		javaWriter.println("\t\t\tCOSObject F = RF.getKey(" + getASAtomFromString("F") + ");");
 		javaWriter.println("\t\t\tif (F != null && F.getType() == COSObjType.COS_ARRAY) {");
 		javaWriter.println("\t\t\t\tfor (int i = 1; i < F.size(); i += 2) {");
 		javaWriter.println("\t\t\t\t\tCOSObject obj = F.at(i);");
@@ -1231,7 +1475,7 @@ public class JavaGeneration {
 		javaWriter.println("\t\t\t\t\t}");
 		javaWriter.println("\t\t\t\t}");
 		javaWriter.println("\t\t\t}");
-		javaWriter.println("\t\t\tCOSObject UF = RF.getKey(ASAtom.getASAtom(\"UF\"));");
+		javaWriter.println("\t\t\tCOSObject UF = RF.getKey(" + getASAtomFromString("UF") + ");");
 		javaWriter.println("\t\t\tif (UF != null && UF.getType() == COSObjType.COS_ARRAY) {");
 		javaWriter.println("\t\t\t\tfor (int i = 1; i < UF.size(); i += 2) {");
 		javaWriter.println("\t\t\t\t\tCOSObject obj = UF.at(i);");
@@ -1291,58 +1535,63 @@ public class JavaGeneration {
 	}
 
 	public void addPageContainsStructContentItemsMethod() {
+		//tokens are parsed one by one until the first marked content sequence with MCID, result is cached by page key
 		printMethodSignature(true, "public", false, Type.BOOLEAN.getJavaType(),
 				getGetterName(Constants.PAGE_CONTAINS_STRUCT_CONTENT_ITEMS));
+		javaWriter.println("\t\tCOSKey key = this.baseObject.getObjectKey();");
+		javaWriter.println("\t\tif (key == null) {");
+		javaWriter.println("\t\t\treturn containsStructContentItems();");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn getPagesContainStructContentItems().computeIfAbsent(key, k -> containsStructContentItems());");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprivate boolean containsStructContentItems() {");
 		javaWriter.println("\t\tCOSObject contents = this.baseObject.getKey(ASAtom.CONTENTS);");
-		javaWriter.println("\t\tif (contents.getType() == COSObjType.COS_STREAM || contents.getType() == COSObjType.COS_ARRAY) {");
-		javaWriter.println("\t\t\ttry (ASInputStream opStream = contents.getDirectBase().getData(COSStream.FilterFlags.DECODE);");
-		javaWriter.println("\t\t\t\t PDFStreamParser streamParser = new PDFStreamParser(opStream)) {");
-		javaWriter.println("\t\t\t\tstreamParser.parseTokens();");
-		javaWriter.println("\t\t\t\tList<COSBase> arguments = new ArrayList<>();");
-		javaWriter.println("\t\t\t\tfor (java.lang.Object rawToken : streamParser.getTokens()) {");
-		javaWriter.println("\t\t\t\t\tif (rawToken instanceof COSBase) {");
-		javaWriter.println("\t\t\t\t\t\targuments.add((COSBase) rawToken);");
-		javaWriter.println("\t\t\t\t\t} else if (rawToken instanceof Operator) {");
-		javaWriter.println("\t\t\t\t\t\tString operatorName = ((Operator)rawToken).getOperator();");
-		javaWriter.println("\t\t\t\t\t\tif (Operators.BMC.equals(operatorName) || Operators.BDC.equals(operatorName)) {");
-		javaWriter.println("\t\t\t\t\t\t\tif (arguments.isEmpty()) {");
-		javaWriter.println("\t\t\t\t\t\t\t\tcontinue;");
-		javaWriter.println("\t\t\t\t\t\t\t}");
-		javaWriter.println("\t\t\t\t\t\t\tCOSBase lastArgument = arguments.get(arguments.size() - 1);");
-		javaWriter.println("\t\t\t\t\t\t\tif (lastArgument.getType() == COSObjType.COS_NAME) {");
-		javaWriter.println("\t\t\t\t\t\t\t\tCOSObject resources = getInheritableResources(new COSObject(this.baseObject));");
-		javaWriter.println("\t\t\t\t\t\t\t\tCOSObject properties = resources != null ? resources.getKey(ASAtom.PROPERTIES) : null;");
-		javaWriter.println("\t\t\t\t\t\t\t\tCOSObject dict = properties != null ? properties.getKey(lastArgument.getName()) : null;");
-		javaWriter.println("\t\t\t\t\t\t\t\tif (dict != null && dict.getType() == COSObjType.COS_DICT) {");
-		javaWriter.println("\t\t\t\t\t\t\t\t\tlastArgument = dict.getDirectBase();");
-		javaWriter.println("\t\t\t\t\t\t\t\t}");
-		javaWriter.println("\t\t\t\t\t\t\t}");
-		javaWriter.println("\t\t\t\t\t\t\tif (lastArgument.getType() == COSObjType.COS_DICT) {");
-		javaWriter.println("\t\t\t\t\t\t\t\tif (lastArgument.knownKey(ASAtom.MCID)) {");
-		javaWriter.println("\t\t\t\t\t\t\t\t\treturn true;");
-		javaWriter.println("\t\t\t\t\t\t\t\t}");
-		javaWriter.println("\t\t\t\t\t\t\t}");
+		javaWriter.println("\t\tif (contents.getType() != COSObjType.COS_STREAM && contents.getType() != COSObjType.COS_ARRAY) {");
+		javaWriter.println("\t\t\treturn false;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tCOSObject properties = null;");
+		javaWriter.println("\t\tboolean isPropertiesResolved = false;");
+		javaWriter.println("\t\ttry (ASInputStream opStream = contents.getDirectBase().getData(COSStream.FilterFlags.DECODE);");
+		javaWriter.println("\t\t\t PDFStreamParser streamParser = new PDFStreamParser(opStream)) {");
+		javaWriter.println("\t\t\tCOSBase lastArgument = null;");
+		javaWriter.println("\t\t\tfor (java.lang.Object rawToken = streamParser.parseNextToken(); rawToken != null; rawToken = streamParser.parseNextToken()) {");
+		javaWriter.println("\t\t\t\tif (rawToken instanceof COSBase) {");
+		javaWriter.println("\t\t\t\t\tlastArgument = (COSBase) rawToken;");
+		javaWriter.println("\t\t\t\t\tcontinue;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t\tif (!(rawToken instanceof Operator)) {");
+		javaWriter.println("\t\t\t\t\tcontinue;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t\tString operatorName = ((Operator)rawToken).getOperator();");
+		javaWriter.println("\t\t\t\tif (lastArgument != null && (Operators.BMC.equals(operatorName) || Operators.BDC.equals(operatorName))) {");
+		javaWriter.println("\t\t\t\t\tif (lastArgument.getType() == COSObjType.COS_NAME) {");
+		javaWriter.println("\t\t\t\t\t\tif (!isPropertiesResolved) {");
+		javaWriter.println("\t\t\t\t\t\t\tCOSObject resources = getInheritableResources(new COSObject(this.baseObject));");
+		javaWriter.println("\t\t\t\t\t\t\tproperties = resources != null ? resources.getKey(ASAtom.PROPERTIES) : null;");
+		javaWriter.println("\t\t\t\t\t\t\tisPropertiesResolved = true;");
+		javaWriter.println("\t\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\t\tCOSObject dict = properties != null ? properties.getKey(lastArgument.getName()) : null;");
+		javaWriter.println("\t\t\t\t\t\tif (dict != null && dict.getType() == COSObjType.COS_DICT) {");
+		javaWriter.println("\t\t\t\t\t\t\tlastArgument = dict.getDirectBase();");
 		javaWriter.println("\t\t\t\t\t\t}");
-		javaWriter.println("\t\t\t\t\t\targuments = new ArrayList<>();");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\tif (lastArgument.getType() == COSObjType.COS_DICT && lastArgument.knownKey(ASAtom.MCID)) {");
+		javaWriter.println("\t\t\t\t\t\treturn true;");
 		javaWriter.println("\t\t\t\t\t}");
 		javaWriter.println("\t\t\t\t}");
-		javaWriter.println("\t\t\t} catch (IOException exception) {");
-		javaWriter.println("\t\t\t\tLOGGER.log(Level.WARNING, \"Exception during processing " + 
-				Constants.PAGE_CONTAINS_STRUCT_CONTENT_ITEMS + " predicate.\");");
-		javaWriter.println("\t\t\t\treturn false;");
+		javaWriter.println("\t\t\t\tlastArgument = null;");
 		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t} catch (IOException exception) {");
+		javaWriter.println("\t\t\tLOGGER.log(Level.WARNING, \"Exception during processing " +
+				Constants.PAGE_CONTAINS_STRUCT_CONTENT_ITEMS + " predicate.\");");
 		javaWriter.println("\t\t}");
 		javaWriter.println("\t\treturn false;");
 		javaWriter.println("\t}");
 		javaWriter.println();
-		
 		javaWriter.println("\tprivate COSObject getInheritableResources(COSObject object) {");
-		javaWriter.println("\t\tCOSObject value = object.getKey(ASAtom.RESOURCES);");
-		javaWriter.println("\t\tif (value != null && !value.empty()) {");
-		javaWriter.println("\t\t\treturn value;");
-		javaWriter.println("\t\t} else {");
-		javaWriter.println("\t\t\treturn this.baseObject.knownKey(ASAtom.PARENT) ? getInheritableResources(this.baseObject.getKey(ASAtom.PARENT)) : null;");
-		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tCOSObject value = getInheritedValue(object, ASAtom.RESOURCES);");
+		javaWriter.println("\t\treturn value != null && !value.empty() ? value : null;");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1515,9 +1764,79 @@ public class JavaGeneration {
 		javaWriter.println();
 	}
 
+	/**
+	 * Prints DocumentFacts class, which keeps document-wide properties computed once per document.
+	 * Extension flags are kept as a bitmask with bits in order of Main.extensionNames.
+	 */
+	public void addDocumentFacts() {
+		if (Main.extensionNames.size() > Long.SIZE) {
+			throw new RuntimeException("Number of extensions exceeds size of extensions bitmask");
+		}
+		javaWriter.println("\tprivate static final ExtensionObjectType[] EXTENSIONS = {");
+		Iterator<String> iterator = Main.extensionNames.iterator();
+		while (iterator.hasNext()) {
+			javaWriter.println("\t\t\tExtensionObjectType." + iterator.next() + (iterator.hasNext() ? "," : ""));
+		}
+		javaWriter.println("\t};");
+		javaWriter.println();
+		javaWriter.println("\tprotected static class DocumentFacts {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final PDDocument document;");
+		javaWriter.println("\t\tprivate Long extensions;");
+		for (String propertyName : DOCUMENT_FACTS.keySet()) {
+			javaWriter.println("\t\tprivate " + DOCUMENT_FACTS.get(propertyName).getJavaType() + " " + propertyName + ";");
+		}
+		javaWriter.println();
+		javaWriter.println("\t\tprivate DocumentFacts(PDDocument document) {");
+		javaWriter.println("\t\t\tthis.document = document;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tpublic long getExtensions() {");
+		javaWriter.println("\t\t\tif (extensions == null) {");
+		javaWriter.println("\t\t\t\tlong mask = 0;");
+		javaWriter.println("\t\t\t\tCollection<ExtensionObjectType> enabledExtensions = StaticCoreContainers.getEnabledExtensions();");
+		javaWriter.println("\t\t\t\tfor (int i = 0; i < EXTENSIONS.length; i++) {");
+		javaWriter.println("\t\t\t\t\tif (enabledExtensions.contains(EXTENSIONS[i])) {");
+		javaWriter.println("\t\t\t\t\t\tmask |= 1L << i;");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t\textensions = mask;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn extensions;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected static DocumentFacts getDocumentFacts() {");
+		javaWriter.println("\t\tPDDocument document = StaticResources.getDocument();");
+		javaWriter.println("\t\tDocumentFacts facts = documentFacts.get();");
+		javaWriter.println("\t\tif (facts == null || facts.document != document) {");
+		javaWriter.println("\t\t\tfacts = new DocumentFacts(document);");
+		javaWriter.println("\t\t\tdocumentFacts.set(facts);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn facts;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints getter of document fact, which is computed by the private static method printed after the getter.
+	 */
+	private void printDocumentFactGetterSignature(String propertyName) {
+		Type type = DOCUMENT_FACTS.get(propertyName);
+		String computeMethodName = "compute" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+		printMethodSignature(true, "public", false, type.getJavaType(), getGetterName(propertyName));
+		javaWriter.println("\t\tDocumentFacts facts = getDocumentFacts();");
+		javaWriter.println("\t\tif (facts." + propertyName + " == null) {");
+		javaWriter.println("\t\t\tfacts." + propertyName + " = " + computeMethodName + "();");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn facts." + propertyName + ";");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		printMethodSignature(false, "private", true, type.getJavaType(), computeMethodName);
+	}
+
 	public void addIsPDFTagged() {
-		printMethodSignature(true, "public", false, Type.BOOLEAN.getJavaType(),
-				getGetterName(Constants.IS_PDF_TAGGED));
+		printDocumentFactGetterSignature(Constants.IS_PDF_TAGGED);
 		javaWriter.println("\t\tPDDocument document = StaticResources.getDocument();");
 		javaWriter.println("\t\tPDCatalog catalog = document.getCatalog();");
 		javaWriter.println("\t\tif (catalog == null) {");
@@ -1642,7 +1961,8 @@ public class JavaGeneration {
 	public void addHasExtensionMethod(String extensionName) {
 		printMethodSignature(true, "public", false, Type.BOOLEAN.getJavaType(),
 				getGetterName(Object.getHasExtensionPropertyName(extensionName)));
-		javaWriter.println("\t\treturn StaticCoreContainers.getEnabledExtensions().contains(ExtensionObjectType." + extensionName + ");");
+		int index = new ArrayList<>(Main.extensionNames).indexOf(extensionName);
+		javaWriter.println("\t\treturn (getDocumentFacts().getExtensions() & " + (1L << index) + "L) != 0;");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1693,6 +2013,632 @@ public class JavaGeneration {
 		javaWriter.println();
 	}
 
+	public void addTreeIndexMethods() {
+		//index of keys and indirect values of name and number trees, built once per tree root and document
+		javaWriter.println("\tprotected static class TreeIndex {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final Set<Object> keys = new HashSet<>();");
+		javaWriter.println("\t\tprivate final Set<COSKey> values = new HashSet<>();");
+		javaWriter.println("\t\tprivate final java.util.function.Predicate<COSObject> directValueCheck;");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate TreeIndex(java.util.function.Predicate<COSObject> directValueCheck) {");
+		javaWriter.println("\t\t\tthis.directValueCheck = directValueCheck;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate void add(Object key, COSObject value) {");
+		javaWriter.println("\t\t\tkeys.add(key);");
+		javaWriter.println("\t\t\tif (value != null && value.getKey() != null) {");
+		javaWriter.println("\t\t\t\tvalues.add(value.getKey());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tpublic boolean containsKey(Object key) {");
+		javaWriter.println("\t\t\treturn keys.contains(key);");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tpublic boolean containsValue(COSObject value) {");
+		javaWriter.println("\t\t\tif (value.getKey() != null) {");
+		javaWriter.println("\t\t\t\treturn values.contains(value.getKey());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn directValueCheck.test(value);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		printMethodSignature(false, "protected", true, "TreeIndex", "getNameTreeIndex", "COSObject tree");
+		javaWriter.println("\t\tPDNameTreeNode nameTreeNode = PDNameTreeNode.create(tree);");
+		javaWriter.println("\t\tif (tree.getKey() == null) {");
+		javaWriter.println("\t\t\treturn createNameTreeIndex(nameTreeNode);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (nameTreesIndexes.get() == null) {");
+		javaWriter.println("\t\t\tnameTreesIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn nameTreesIndexes.get().computeIfAbsent(tree.getKey(), key -> createNameTreeIndex(nameTreeNode));");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		printMethodSignature(false, "private", true, "TreeIndex", "createNameTreeIndex", "PDNameTreeNode nameTreeNode");
+		javaWriter.println("\t\tTreeIndex index = new TreeIndex(nameTreeNode::containsValue);");
+		javaWriter.println("\t\tDeque<PDNameTreeNode> nodes = new ArrayDeque<>();");
+		javaWriter.println("\t\tCOSKeySet visitedKeys = getVisitedKeys();");
+		javaWriter.println("\t\tnodes.push(nameTreeNode);");
+		javaWriter.println("\t\twhile (!nodes.isEmpty()) {");
+		javaWriter.println("\t\t\tPDNameTreeNode node = nodes.pop();");
+		javaWriter.println("\t\t\tCOSKey key = node.getObject().getKey();");
+		javaWriter.println("\t\t\tif (key != null && !visitedKeys.add(key)) {");
+		javaWriter.println("\t\t\t\tcontinue;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tfor (Map.Entry<String, COSObject> entry : node.getNames().entrySet()) {");
+		javaWriter.println("\t\t\t\tindex.add(entry.getKey(), entry.getValue());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tnodes.addAll(node.getKids());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn index;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		printMethodSignature(false, "protected", true, "TreeIndex", "getNumberTreeIndex", "COSObject tree");
+		javaWriter.println("\t\tPDNumberTreeNode numberTreeNode = new PDNumberTreeNode(tree);");
+		javaWriter.println("\t\tif (tree.getKey() == null) {");
+		javaWriter.println("\t\t\treturn createNumberTreeIndex(numberTreeNode);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (numberTreesIndexes.get() == null) {");
+		javaWriter.println("\t\t\tnumberTreesIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn numberTreesIndexes.get().computeIfAbsent(tree.getKey(), key -> createNumberTreeIndex(numberTreeNode));");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		printMethodSignature(false, "private", true, "TreeIndex", "createNumberTreeIndex", "PDNumberTreeNode numberTreeNode");
+		javaWriter.println("\t\tTreeIndex index = new TreeIndex(numberTreeNode::containsValue);");
+		javaWriter.println("\t\tDeque<PDNumberTreeNode> nodes = new ArrayDeque<>();");
+		javaWriter.println("\t\tCOSKeySet visitedKeys = getVisitedKeys();");
+		javaWriter.println("\t\tnodes.push(numberTreeNode);");
+		javaWriter.println("\t\twhile (!nodes.isEmpty()) {");
+		javaWriter.println("\t\t\tPDNumberTreeNode node = nodes.pop();");
+		javaWriter.println("\t\t\tCOSKey key = node.getObject().getKey();");
+		javaWriter.println("\t\t\tif (key != null && !visitedKeys.add(key)) {");
+		javaWriter.println("\t\t\t\tcontinue;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tfor (Map.Entry<Long, COSObject> entry : node.getNums().entrySet()) {");
+		javaWriter.println("\t\t\t\tindex.add(entry.getKey(), entry.getValue());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tnodes.addAll(node.getKids());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn index;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	public void addArrayIndexMethods() {
+		//sets of indirect elements keys and of NM values of dictionaries, built once per array and document
+		javaWriter.println("\tprotected static class ArrayIndex {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final COSArray array;");
+		javaWriter.println("\t\tprivate Set<COSKey> keys;");
+		javaWriter.println("\t\tprivate Set<String> nmValues;");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate ArrayIndex(COSArray array) {");
+		javaWriter.println("\t\t\tthis.array = array;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tpublic boolean containsKey(COSKey key) {");
+		javaWriter.println("\t\t\tif (keys == null) {");
+		javaWriter.println("\t\t\t\tkeys = new HashSet<>();");
+		javaWriter.println("\t\t\t\tfor (COSObject elem : array) {");
+		javaWriter.println("\t\t\t\t\tif (elem != null && elem.getKey() != null) {");
+		javaWriter.println("\t\t\t\t\t\tkeys.add(elem.getKey());");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn keys.contains(key);");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tpublic boolean containsNMValue(String value) {");
+		javaWriter.println("\t\t\tif (nmValues == null) {");
+		javaWriter.println("\t\t\t\tnmValues = new HashSet<>();");
+		javaWriter.println("\t\t\t\tfor (COSObject elem : array) {");
+		javaWriter.println("\t\t\t\t\tif (elem != null && elem.getType() == COSObjType.COS_DICT) {");
+		javaWriter.println("\t\t\t\t\t\tCOSObject NM = elem.getKey(" + getASAtomFromString("NM") + ");");
+		javaWriter.println("\t\t\t\t\t\tnmValues.add(NM != null ? NM.getString() : null);");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn nmValues.contains(value);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		printMethodSignature(false, "protected", true, "ArrayIndex", "getArrayIndex", "COSObject array");
+		javaWriter.println("\t\tif (array.getKey() != null) {");
+		javaWriter.println("\t\t\tif (indirectArraysIndexes.get() == null) {");
+		javaWriter.println("\t\t\t\tindirectArraysIndexes.set(new HashMap<>());");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn indirectArraysIndexes.get().computeIfAbsent(array.getKey(), " +
+				"key -> new ArrayIndex((COSArray) array.getDirectBase()));");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (directArraysIndexes.get() == null) {");
+		javaWriter.println("\t\t\tdirectArraysIndexes.set(new IdentityHashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn directArraysIndexes.get().computeIfAbsent(array.getDirectBase(), " +
+				"base -> new ArrayIndex((COSArray) base));");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints LazyLinkList class used by multi link getters with -Darlington.java.lazyLinks=true. Iteration creates
+	 * linked objects without keeping them, get(index) creates and keeps first index + 1 of them, size() counts them
+	 * by iteration.
+	 */
+	public void addLazyLinkListClass() {
+		javaWriter.println("\tprotected static class LazyLinkList<K, T> extends AbstractList<T> {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final Iterable<K> keys;");
+		javaWriter.println("\t\tprivate final java.util.function.Function<K, T> linkedObjectCreator;");
+		javaWriter.println("\t\tprivate Iterator<K> keysIterator;");
+		javaWriter.println("\t\tprivate List<T> linkedObjects;");
+		javaWriter.println("\t\tprivate int size = -1;");
+		javaWriter.println();
+		javaWriter.println("\t\tprotected LazyLinkList(Iterable<K> keys, java.util.function.Function<K, T> linkedObjectCreator) {");
+		javaWriter.println("\t\t\tthis.keys = keys;");
+		javaWriter.println("\t\t\tthis.linkedObjectCreator = linkedObjectCreator;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic Iterator<T> iterator() {");
+		javaWriter.println("\t\t\tIterator<K> keysIterator = keys.iterator();");
+		javaWriter.println("\t\t\treturn new Iterator<T>() {");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\tprivate T next = findNext();");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\tprivate T findNext() {");
+		javaWriter.println("\t\t\t\t\twhile (keysIterator.hasNext()) {");
+		javaWriter.println("\t\t\t\t\t\tT linkedObject = linkedObjectCreator.apply(keysIterator.next());");
+		javaWriter.println("\t\t\t\t\t\tif (linkedObject != null) {");
+		javaWriter.println("\t\t\t\t\t\t\treturn linkedObject;");
+		javaWriter.println("\t\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\treturn null;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\t@Override");
+		javaWriter.println("\t\t\t\tpublic boolean hasNext() {");
+		javaWriter.println("\t\t\t\t\treturn next != null;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\t@Override");
+		javaWriter.println("\t\t\t\tpublic T next() {");
+		javaWriter.println("\t\t\t\t\tif (next == null) {");
+		javaWriter.println("\t\t\t\t\t\tthrow new NoSuchElementException();");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\tT result = next;");
+		javaWriter.println("\t\t\t\t\tnext = findNext();");
+		javaWriter.println("\t\t\t\t\treturn result;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t};");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic T get(int index) {");
+		javaWriter.println("\t\t\tif (index < 0 || !createLinkedObjects(index + 1)) {");
+		javaWriter.println("\t\t\t\tthrow new IndexOutOfBoundsException(\"Index: \" + index);");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn linkedObjects.get(index);");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic boolean isEmpty() {");
+		javaWriter.println("\t\t\tif (size >= 0) {");
+		javaWriter.println("\t\t\t\treturn size == 0;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn (linkedObjects == null || linkedObjects.isEmpty()) && !iterator().hasNext();");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic int size() {");
+		javaWriter.println("\t\t\tif (size < 0) {");
+		javaWriter.println("\t\t\t\tint count = 0;");
+		javaWriter.println("\t\t\t\tfor (Iterator<T> iterator = iterator(); iterator.hasNext(); iterator.next()) {");
+		javaWriter.println("\t\t\t\t\tcount++;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t\tsize = count;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn size;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t//creates linked objects until there are the given number of them, returns false if keys ended before");
+		javaWriter.println("\t\tprivate boolean createLinkedObjects(int number) {");
+		javaWriter.println("\t\t\tif (linkedObjects == null) {");
+		javaWriter.println("\t\t\t\tlinkedObjects = new ArrayList<>();");
+		javaWriter.println("\t\t\t\tkeysIterator = keys.iterator();");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\twhile (linkedObjects.size() < number && keysIterator.hasNext()) {");
+		javaWriter.println("\t\t\t\tT linkedObject = linkedObjectCreator.apply(keysIterator.next());");
+		javaWriter.println("\t\t\t\tif (linkedObject != null) {");
+		javaWriter.println("\t\t\t\t\tlinkedObjects.add(linkedObject);");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn linkedObjects.size() >= number;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints ArrayLinkList class used by lazy multi link getters of arrays, which elements always have linked objects.
+	 * Linked object of array element is created on each access, size is size of array without fixed elements.
+	 */
+	public void addArrayLinkListClass() {
+		javaWriter.println("\tprotected static class ArrayLinkList<T> extends AbstractList<T> implements RandomAccess {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final int offset;");
+		javaWriter.println("\t\tprivate final int size;");
+		javaWriter.println("\t\tprivate final java.util.function.IntFunction<T> linkedObjectCreator;");
+		javaWriter.println();
+		javaWriter.println("\t\tprotected ArrayLinkList(int offset, int arraySize, java.util.function.IntFunction<T> linkedObjectCreator) {");
+		javaWriter.println("\t\t\tthis.offset = offset;");
+		javaWriter.println("\t\t\tthis.size = Math.max(arraySize - offset, 0);");
+		javaWriter.println("\t\t\tthis.linkedObjectCreator = linkedObjectCreator;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic T get(int index) {");
+		javaWriter.println("\t\t\tif (index < 0 || index >= size) {");
+		javaWriter.println("\t\t\t\tthrow new IndexOutOfBoundsException(\"Index: \" + index);");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn linkedObjectCreator.apply(offset + index);");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic int size() {");
+		javaWriter.println("\t\t\treturn size;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints COSKeySet class, open addressing set of keys packed as objectNumber << 16 | generation,
+	 * which is used as keysSet and as reusable set of visited keys. Clearing shrinks the table to default capacity,
+	 * so cost of clearing does not grow with the largest walk. With -Darlington.java.offHeapKeys=true
+	 * its table is allocated in direct memory.
+	 */
+	public void addCOSKeySetClass() {
+		javaWriter.println("\tpublic static class COSKeySet extends AbstractSet<COSKey> {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate static final int DEFAULT_CAPACITY = 16;");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate java.nio.LongBuffer table = allocate(DEFAULT_CAPACITY);");
+		javaWriter.println("\t\tprivate int size;");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate static java.nio.LongBuffer allocate(int capacity) {");
+		if (OFF_HEAP_KEYS) {
+			javaWriter.println("\t\t\treturn java.nio.ByteBuffer.allocateDirect(capacity * Long.BYTES).asLongBuffer();");
+		} else {
+			javaWriter.println("\t\t\treturn java.nio.LongBuffer.allocate(capacity);");
+		}
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate static long pack(COSKey key) {");
+		//object number is packed as unsigned int, so no key is packed to 0 which marks empty slots
+		javaWriter.println("\t\t\treturn ((key.getNumber() & 0xFFFFFFFFL) << 16 | key.getGeneration() & 0xFFFF) + 1;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate int getIndex(long packedKey) {");
+		javaWriter.println("\t\t\tint mask = table.capacity() - 1;");
+		javaWriter.println("\t\t\tint index = (int) ((packedKey * 0x9E3779B97F4A7C15L) >>> 32) & mask;");
+		javaWriter.println("\t\t\tlong value = table.get(index);");
+		javaWriter.println("\t\t\twhile (value != 0 && value != packedKey) {");
+		javaWriter.println("\t\t\t\tindex = (index + 1) & mask;");
+		javaWriter.println("\t\t\t\tvalue = table.get(index);");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn index;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic boolean add(COSKey key) {");
+		javaWriter.println("\t\t\tif (key == null) {");
+		javaWriter.println("\t\t\t\treturn false;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tlong packedKey = pack(key);");
+		javaWriter.println("\t\t\tint index = getIndex(packedKey);");
+		javaWriter.println("\t\t\tif (table.get(index) != 0) {");
+		javaWriter.println("\t\t\t\treturn false;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\ttable.put(index, packedKey);");
+		javaWriter.println("\t\t\tif (++size * 2 > table.capacity()) {");
+		javaWriter.println("\t\t\t\tresize();");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\treturn true;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic boolean contains(java.lang.Object object) {");
+		javaWriter.println("\t\t\treturn object instanceof COSKey && table.get(getIndex(pack((COSKey) object))) != 0;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic int size() {");
+		javaWriter.println("\t\t\treturn size;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic void clear() {");
+		javaWriter.println("\t\t\tif (size == 0) {");
+		javaWriter.println("\t\t\t\treturn;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tif (table.capacity() > DEFAULT_CAPACITY) {");
+		javaWriter.println("\t\t\t\ttable = allocate(DEFAULT_CAPACITY);");
+		javaWriter.println("\t\t\t} else {");
+		javaWriter.println("\t\t\t\tfor (int index = 0; index < table.capacity(); index++) {");
+		javaWriter.println("\t\t\t\t\ttable.put(index, 0);");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tsize = 0;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic Iterator<COSKey> iterator() {");
+		javaWriter.println("\t\t\treturn new Iterator<COSKey>() {");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\tprivate int index = nextIndex(0);");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\tprivate int nextIndex(int index) {");
+		javaWriter.println("\t\t\t\t\twhile (index < table.capacity() && table.get(index) == 0) {");
+		javaWriter.println("\t\t\t\t\t\tindex++;");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\treturn index;");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\t@Override");
+		javaWriter.println("\t\t\t\tpublic boolean hasNext() {");
+		javaWriter.println("\t\t\t\t\treturn index < table.capacity();");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t\t\t@Override");
+		javaWriter.println("\t\t\t\tpublic COSKey next() {");
+		javaWriter.println("\t\t\t\t\tif (!hasNext()) {");
+		javaWriter.println("\t\t\t\t\t\tthrow new NoSuchElementException();");
+		javaWriter.println("\t\t\t\t\t}");
+		javaWriter.println("\t\t\t\t\tlong packedKey = table.get(index) - 1;");
+		javaWriter.println("\t\t\t\t\tindex = nextIndex(index + 1);");
+		javaWriter.println("\t\t\t\t\treturn new COSKey((int) (packedKey >>> 16), (int) (packedKey & 0xFFFF));");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t};");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate void resize() {");
+		javaWriter.println("\t\t\tjava.nio.LongBuffer oldTable = table;");
+		javaWriter.println("\t\t\ttable = allocate(oldTable.capacity() * 2);");
+		javaWriter.println("\t\t\tfor (int index = 0; index < oldTable.capacity(); index++) {");
+		javaWriter.println("\t\t\t\tlong packedKey = oldTable.get(index);");
+		javaWriter.println("\t\t\t\tif (packedKey != 0) {");
+		javaWriter.println("\t\t\t\t\ttable.put(getIndex(packedKey), packedKey);");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints getSharedObject method, registry of linked objects by key of indirect object and type. Validator
+	 * checks only the first object with the same ID, so the following links return this object without
+	 * constructing a new one. Registry is kept until clearAllContainers.
+	 */
+	public void addGetSharedObjectMethod() {
+		javaWriter.println("\t//shared object keeps parentObject, keyName and all values depending on them (getExtraContext,");
+		javaWriter.println("\t//parent entries in predicates) from the link which created it, other links get it with this context");
+		printMethodSignature(false, "protected", true, "<B extends COSBase, T extends GFAObject> T", "getSharedObject",
+				"B base", "Class<T> type", "String keyName", "java.util.function.BiFunction<B, String, T> constructor");
+		javaWriter.println("\t\tCOSKey key = base != null ? base.getObjectKey() : null;");
+		javaWriter.println("\t\tif (key == null) {");
+		javaWriter.println("\t\t\treturn constructor.apply(base, keyName);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (sharedObjects.get() == null) {");
+		javaWriter.println("\t\t\tsharedObjects.set(new HashMap<>());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tMap<Class<?>, GFAObject> objects = sharedObjects.get().computeIfAbsent(key, k -> new HashMap<>(2));");
+		javaWriter.println("\t\tGFAObject sharedObject = objects.get(type);");
+		javaWriter.println("\t\tif (sharedObject == null) {");
+		javaWriter.println("\t\t\tsharedObject = constructor.apply(base, keyName);");
+		javaWriter.println("\t\t\tobjects.put(type, sharedObject);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn type.cast(sharedObject);");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Prints cache of resolved types of linked objects used by link getters with several possible types
+	 * (-Darlington.java.linkCacheSize=n). At most n last resolved types are kept in LRU cache, linked object of cached
+	 * type is constructed for each call, so it gets parent and key name of the caller. Hits and misses of the cache
+	 * are counted for the current document.
+	 */
+	public void addLinkCacheMethods() {
+		javaWriter.println("\tprotected static class LinkCacheCounters {");
+		javaWriter.println("\t\tprivate long hits;");
+		javaWriter.println("\t\tprivate long misses;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprivate static LinkCacheCounters getLinkCacheCounters() {");
+		javaWriter.println("\t\tif (linkCacheCounters.get() == null) {");
+		javaWriter.println("\t\t\tlinkCacheCounters.set(new LinkCacheCounters());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn linkCacheCounters.get();");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tpublic static long getLinkResolutionHits() {");
+		javaWriter.println("\t\treturn getLinkCacheCounters().hits;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tpublic static long getLinkResolutionMisses() {");
+		javaWriter.println("\t\treturn getLinkCacheCounters().misses;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected interface LinkedObjectConstructor {");
+		javaWriter.println("\t\t" + Constants.BASE_MODEL_OBJECT_PATH + " construct(String objectType, COSBase base, String keyName);");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected static class LinkCacheKey {");
+		javaWriter.println();
+		javaWriter.println("\t\tprivate final String context;");
+		javaWriter.println("\t\tprivate final COSKey key;");
+		javaWriter.println();
+		javaWriter.println("\t\tprotected LinkCacheKey(String context, COSKey key) {");
+		javaWriter.println("\t\t\tthis.context = context;");
+		javaWriter.println("\t\t\tthis.key = key;");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic boolean equals(java.lang.Object object) {");
+		javaWriter.println("\t\t\tif (this == object) {");
+		javaWriter.println("\t\t\t\treturn true;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tif (!(object instanceof LinkCacheKey)) {");
+		javaWriter.println("\t\t\t\treturn false;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tLinkCacheKey cacheKey = (LinkCacheKey) object;");
+		javaWriter.println("\t\t\treturn context.equals(cacheKey.context) && key.equals(cacheKey.key);");
+		javaWriter.println("\t\t}");
+		javaWriter.println();
+		javaWriter.println("\t\t@Override");
+		javaWriter.println("\t\tpublic int hashCode() {");
+		javaWriter.println("\t\t\treturn 31 * context.hashCode() + key.hashCode();");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		javaWriter.println("\tprotected " + Constants.BASE_MODEL_OBJECT_PATH + " getCachedLinkedObject(String context, COSBase base, String keyName,");
+		javaWriter.println("\t\t\tjava.util.function.BiFunction<COSBase, String, " + Constants.BASE_MODEL_OBJECT_PATH +
+				"> resolver, LinkedObjectConstructor constructor) {");
+		javaWriter.println("\t\tCOSKey key = base != null ? base.getObjectKey() : null;");
+		javaWriter.println("\t\tif (key == null) {");
+		javaWriter.println("\t\t\treturn resolver.apply(base, keyName);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (linkResolutions.get() == null) {");
+		javaWriter.println("\t\t\tlinkResolutions.set(new LinkedHashMap<LinkCacheKey, String>(16, 0.75f, true) {");
+		javaWriter.println("\t\t\t\t@Override");
+		javaWriter.println("\t\t\t\tprotected boolean removeEldestEntry(Map.Entry<LinkCacheKey, String> eldest) {");
+		javaWriter.println("\t\t\t\t\treturn size() > " + LINK_CACHE_SIZE + ";");
+		javaWriter.println("\t\t\t\t}");
+		javaWriter.println("\t\t\t});");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tLinkCacheKey cacheKey = new LinkCacheKey(context, key);");
+		javaWriter.println("\t\tString objectType = linkResolutions.get().get(cacheKey);");
+		javaWriter.println("\t\tif (objectType != null) {");
+		javaWriter.println("\t\t\tgetLinkCacheCounters().hits++;");
+		javaWriter.println("\t\t\treturn objectType.isEmpty() ? null : constructor.construct(objectType, base, keyName);");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tgetLinkCacheCounters().misses++;");
+		javaWriter.println("\t\t" + Constants.BASE_MODEL_OBJECT_PATH + " object = resolver.apply(base, keyName);");
+		javaWriter.println("\t\tlinkResolutions.get().put(cacheKey, object != null ? object.getObjectType() : \"\");");
+		javaWriter.println("\t\treturn object;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	/**
+	 * Adds link getter choosing type of linked object. With -Darlington.java.linkCacheSize=n the chosen type is cached
+	 * by key of indirect object, if the choice depends only on linked object, and the method constructing linked
+	 * object of the cached type is added.
+	 */
+	public void addTypedLinkGetter(Map<String, LinkHelper> map, List<Integer> oldMapsIndexes, Object object, Entry entry,
+								   Type type, PDFVersion version) {
+		if (LINK_CACHE_SIZE <= 0 || map.values().iterator().next() instanceof KeyNameLinkHelper) {
+			Links.addGetter(map, oldMapsIndexes, object, entry, type, version, 0, "");
+			return;
+		}
+		linkResolutionDependsOnContext = false;
+		Links.addGetter(map, oldMapsIndexes, object, entry, type, version, 0, RESOLVED_LINK_POSTFIX);
+		String linkName = Links.getLinkName(entry.getName());
+		String methodName = getGetterName(linkName + type.getType() + version.getStringWithUnderScore());
+		String resolvedMethodName = getGetterName(linkName + type.getType() + RESOLVED_LINK_POSTFIX +
+				version.getStringWithUnderScore());
+		printMethodSignature(false, "private", false, Constants.BASE_MODEL_OBJECT_PATH, methodName,
+				"COSBase base", "String keyName");
+		if (linkResolutionDependsOnContext) {
+			javaWriter.println("\t\treturn " + getMethodCall(resolvedMethodName, "base", "keyName") + ";");
+			javaWriter.println("\t}");
+			javaWriter.println();
+			return;
+		}
+		String constructorMethodName = "construct" + linkName + type.getType() + version.getStringWithUnderScore();
+		javaWriter.println("\t\treturn " + getMethodCall("getCachedLinkedObject", "\"" + object.getJavaClassName() +
+				"." + methodName + "\"", "base", "keyName", "this::" + resolvedMethodName, "this::" + constructorMethodName) + ";");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		printMethodSignature(false, "private", false, Constants.BASE_MODEL_OBJECT_PATH, constructorMethodName,
+				"String objectType", "COSBase base", "String keyName");
+		javaWriter.println("\t\tswitch (objectType) {");
+		for (String link : new TreeSet<>(entry.getLinksWithoutPredicatesSet(type))) {
+			javaWriter.println("\t\t\tcase \"" + Object.getModelType(link) + "\":");
+			javaWriter.println("\t\t\t\treturn " + linkedGFAObject(entry.getName(), link, "base", "this.baseObject",
+					"keyName") + ";");
+		}
+		javaWriter.println("\t\t\tdefault:");
+		javaWriter.println("\t\t\t\treturn null;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	public void addKeysSetMethods() {
+		printMethodSignature(false, "protected", true, Type.STRING.getJavaType(), "getKeys",
+				"COSObject object", "Set<ASAtom> keys", "boolean containsKeys");
+		javaWriter.println("\t\tSet<ASAtom> set = object.getKeySet();");
+		javaWriter.println("\t\tif (set == null) {");
+		javaWriter.println("\t\t\treturn \"\";");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tStringBuilder result = null;");
+		javaWriter.println("\t\tfor (ASAtom key : set) {");
+		javaWriter.println("\t\t\tif (containsKeys ? !keys.contains(key) : (keys.contains(key) || isSecondOrThirdClassName(key.getValue()))) {");
+		javaWriter.println("\t\t\t\tcontinue;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tif (result == null) {");
+		javaWriter.println("\t\t\t\tresult = new StringBuilder();");
+		javaWriter.println("\t\t\t} else {");
+		javaWriter.println("\t\t\t\tresult.append(',');");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t\tresult.append(key.getValue());");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn result != null ? result.toString() : \"\";");
+		javaWriter.println("\t}");
+		javaWriter.println();
+
+		//same as /^(XX|(.{4}[_:]))/ regex
+		printMethodSignature(false, "protected", true, "boolean", "isSecondOrThirdClassName", "String name");
+		javaWriter.println("\t\tif (name.startsWith(\"XX\")) {");
+		javaWriter.println("\t\t\treturn true;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tif (name.length() < 5 || (name.charAt(4) != '_' && name.charAt(4) != ':')) {");
+		javaWriter.println("\t\t\treturn false;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\tfor (int i = 0; i < 4; i++) {");
+		javaWriter.println("\t\t\tchar c = name.charAt(i);");
+		javaWriter.println("\t\t\tif (c == '\\n' || c == '\\r' || c == '\\u2028' || c == '\\u2029') {");
+		javaWriter.println("\t\t\t\treturn false;");
+		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn true;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
+	public void addKeysSetMethod(String propertyName, Set<String> keys, boolean containsKeys) {
+		String setName = propertyName + "Set";
+		javaWriter.println("\tprivate static final Set<ASAtom> " + setName + " = new HashSet<>(Arrays.asList(");
+		Iterator<String> iterator = keys.iterator();
+		while (iterator.hasNext()) {
+			javaWriter.println("\t\t\t" + getASAtomFromString(iterator.next()) + (iterator.hasNext() ? "," : "));"));
+		}
+		javaWriter.println();
+		printMethodSignature(true, "public", false, Type.STRING.getJavaType(), getGetterName(propertyName));
+		javaWriter.println("\t\treturn " + getMethodCall("getKeys", "new COSObject(this.baseObject)", setName,
+				Boolean.toString(containsKeys)) + ";");
+		javaWriter.println("\t}");
+		javaWriter.println();
+	}
+
 	public void addKeysStringMethod(Object object, String entryName) {
 		printMethodSignature(true, "public", false, Type.STRING.getJavaType(),
 				getGetterName(Entry.getKeysStringPropertyName(entryName)));
@@ -1711,14 +2657,11 @@ public class JavaGeneration {
 		javaWriter.println("\t\tif (" + objectName + ".getKey() == null) {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tif (" + arrayObjectName + " != null && " + arrayObjectName + ".getType() == " + Type.ARRAY.getCosObjectType() + ") {");
-		javaWriter.println("\t\t\tfor (COSObject object : (COSArray)" + arrayObjectName + ".getDirectBase()) {");
-		javaWriter.println("\t\t\t\tif (Objects.equals(object.getKey(), " + objectName + ".getKey())) {");
-		javaWriter.println("\t\t\t\t\treturn true;");
-		javaWriter.println("\t\t\t\t}");
-		javaWriter.println("\t\t\t}");
+		javaWriter.println("\t\tif (" + arrayObjectName + " == null || " + arrayObjectName + ".getType() != " + Type.ARRAY.getCosObjectType() + ") {");
+		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\treturn false;");
+		javaWriter.println("\t\treturn " + getMethodCall("getArrayIndex", arrayObjectName) + ".containsKey(" +
+				objectName + ".getKey());");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1735,8 +2678,8 @@ public class JavaGeneration {
 				Type.DICTIONARY.getCosObjectType() + ") {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tPDNameTreeNode nameTreeNode = PDNameTreeNode.create(" + nameTreeObjectName + ");");
-		javaWriter.println("\t\treturn nameTreeNode.containsKey(" + objectName + Type.STRING_BYTE.getParserMethod() + ");");
+		javaWriter.println("\t\treturn " + getMethodCall("getNameTreeIndex", nameTreeObjectName) + ".containsKey(" +
+				objectName + Type.STRING_BYTE.getParserMethod() + ");");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1753,8 +2696,8 @@ public class JavaGeneration {
 				Type.DICTIONARY.getCosObjectType() + ") {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tPDNameTreeNode nameTreeNode = PDNameTreeNode.create(" + nameTreeObjectName + ");");
-		javaWriter.println("\t\treturn nameTreeNode.containsValue(" + objectName + ");");
+		javaWriter.println("\t\treturn " + getMethodCall("getNameTreeIndex", nameTreeObjectName) + ".containsValue(" +
+				objectName + ");");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1774,9 +2717,9 @@ public class JavaGeneration {
 				Type.DICTIONARY.getCosObjectType() + ") {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tPDNumberTreeNode numberTreeNode = new PDNumberTreeNode(" + numberTreeObjectName + ");");
 		String integer = Entry.isNumber(entryName) ? entryName + Type.INTEGER.getJavaPostfix() : objectName + Type.INTEGER.getParserMethod();
-		javaWriter.println("\t\treturn numberTreeNode.containsKey(" + integer + ");");
+		javaWriter.println("\t\treturn " + getMethodCall("getNumberTreeIndex", numberTreeObjectName) + ".containsKey(" +
+				integer + ");");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1793,8 +2736,8 @@ public class JavaGeneration {
 				Type.DICTIONARY.getCosObjectType() + ") {");
 		javaWriter.println("\t\t\treturn false;");
 		javaWriter.println("\t\t}");
-		javaWriter.println("\t\tPDNumberTreeNode numberTreeNode = new PDNumberTreeNode(" + numberTreeObjectName + ");");
-		javaWriter.println("\t\treturn numberTreeNode.containsValue(" + objectName + ");");
+		javaWriter.println("\t\treturn " + getMethodCall("getNumberTreeIndex", numberTreeObjectName) + ".containsValue(" +
+				objectName + ");");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
@@ -1897,8 +2840,7 @@ public class JavaGeneration {
 
 	public void getEntryCOSObject(Object multiObject, String entryName) {
 		boolean addDefault = multiObject.getJavaGeneration().getDefaultObject(multiObject, entryName);
-		printMethodSignature(false, "public", false, "COSObject",
-				getGetterName(Entry.getValuePropertyName(entryName)));
+		printEntryGetterSignature(Entry.getValuePropertyName(entryName));
 		if (entryName.endsWith(Constants.TREE_NODE)) {
 			entryName = entryName.substring(0, entryName.length() - 8);
 		}
@@ -1946,16 +2888,39 @@ public class JavaGeneration {
 		if (Constants.PARENT.equals(entry)) {
 			return;
 		}
-		if (object.getEntriesNames().contains(entry)) {
+		if (object.getEntry(entry) != null) {
 			return;
 		}
-		printMethodSignature(false, "public", false, "COSObject", getGetterName(Entry.getValuePropertyName(entry)));
+		printEntryGetterSignature(Entry.getValuePropertyName(entry));
 		String objectName = getComplexObject(object, entry);
 		javaWriter.println("\t\treturn " + objectName + ";");
 		javaWriter.println("\t}");
 		javaWriter.println();
 	}
 
+	/**
+	 * Prints signature of entry getter. With -Darlington.java.memoize=true the getter keeps resolved entry
+	 * in a field of GFA object and the signature of private method resolving entry is printed instead.
+	 */
+	private void printEntryGetterSignature(String propertyName) {
+		if (!MEMOIZE_ENTRIES) {
+			printMethodSignature(false, "public", false, "COSObject", getGetterName(propertyName));
+			return;
+		}
+		String fieldName = "memoized" + propertyName;
+		javaWriter.println("\tprivate COSObject " + fieldName + ";");
+		javaWriter.println();
+		printMethodSignature(false, "public", false, "COSObject", getGetterName(propertyName));
+		javaWriter.println("\t\tif (this." + fieldName + " == null) {");
+		javaWriter.println("\t\t\tCOSObject object = " + getMethodCall("resolve" + propertyName) + ";");
+		javaWriter.println("\t\t\tthis." + fieldName + " = object != null ? object : MISSING_ENTRY;");
+		javaWriter.println("\t\t}");
+		javaWriter.println("\t\treturn this." + fieldName + " != MISSING_ENTRY ? this." + fieldName + " : null;");
+		javaWriter.println("\t}");
+		javaWriter.println();
+		printMethodSignature(false, "private", false, "COSObject", "resolve" + propertyName);
+	}
+
 	public void addCommonGetLink(String objectName, String entryName, String returnType, List<List<PDFVersion>> versions) {
 		String linkName = Links.getLinkName(entryName);
 		String returnObjectType = Constants.OBJECT.equals(returnType) ? Constants.BASE_MODEL_OBJECT_PATH : returnType;
@@ -1968,7 +2933,7 @@ public class JavaGeneration {
 			javaWriter.println("\t\treturn " + getMethodCall(getGetterName(linkName +
 					versions.get(0).get(0).getStringWithUnderScore())) + ";");
 		} else {
-			javaWriter.println("\t\tswitch (StaticContainers.getFlavour()) {");
+			javaWriter.println(FLAVOUR_SWITCH);
 			for (List<PDFVersion> versionsList : versions) {
 				String versionString = versionsList.get(0).getStringWithUnderScore();
 				Map<String, List<PDFVersion>> map = getLinkVersions(objectName, entryName, versionsList);
@@ -2048,8 +3013,137 @@ public class JavaGeneration {
 		javaWriter.println(") {");
 	}
 
+	/**
+	 * @return reference to the constant of GFAConstants class, which is generated by writeConstantsClass
+	 */
 	public static String getASAtomFromString(String string) {
-		return "ASAtom.getASAtom(\"" + string + "\")";
+		asAtomNames.add(string);
+		return CONSTANTS_CLASS_NAME + "." + getASAtomConstantName(string);
+	}
+
+	private static String getASAtomConstantName(String string) {
+		StringBuilder name = new StringBuilder("ASATOM_");
+		for (char c : string.toCharArray()) {
+			if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+				name.append(c);
+			} else {
+				name.append('_').append(Integer.toHexString(c)).append('_');
+			}
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Prints getLinkedObjects and getPropertyValue methods dispatching by ids of GFAModelIds class.
+	 * @param isBaseObject true for GFAObject, which has no super implementation of these methods
+	 */
+	public void addIndexedDispatchMethods(Collection<String> linkNames, Collection<String> propertyNames,
+										  boolean isBaseObject) {
+		if (isBaseObject || !linkNames.isEmpty()) {
+			printMethodSignature(!isBaseObject, "public", false, "List<? extends " +
+					Constants.BASE_MODEL_OBJECT_PATH + ">", "getLinkedObjects", "int linkId");
+			javaWriter.println("\t\tswitch (linkId) {");
+			for (String linkName : linkNames) {
+				javaWriter.println("\t\t\tcase " + MODEL_IDS_CLASS_NAME + "." + getLinkIdName(linkName) + ":");
+				javaWriter.println("\t\t\t\treturn " + getGetterName(linkName) + "();");
+			}
+			javaWriter.println("\t\t\tdefault:");
+			javaWriter.println(isBaseObject ? "\t\t\t\treturn Collections.emptyList();" :
+					"\t\t\t\treturn super.getLinkedObjects(linkId);");
+			javaWriter.println("\t\t}");
+			javaWriter.println("\t}");
+			javaWriter.println();
+		}
+		if (isBaseObject || !propertyNames.isEmpty()) {
+			printMethodSignature(!isBaseObject, "public", false, "java.lang.Object", "getPropertyValue",
+					"int propertyId");
+			javaWriter.println("\t\tswitch (propertyId) {");
+			for (String propertyName : propertyNames) {
+				javaWriter.println("\t\t\tcase " + MODEL_IDS_CLASS_NAME + "." + getPropertyIdName(propertyName) + ":");
+				javaWriter.println("\t\t\t\treturn " + getGetterName(propertyName) + "();");
+			}
+			javaWriter.println("\t\t\tdefault:");
+			javaWriter.println(isBaseObject ? "\t\t\t\treturn null;" : "\t\t\t\treturn super.getPropertyValue(propertyId);");
+			javaWriter.println("\t\t}");
+			javaWriter.println("\t}");
+			javaWriter.println();
+		}
+	}
+
+	private static String getLinkIdName(String linkName) {
+		return "LINK_" + linkName;
+	}
+
+	private static String getPropertyIdName(String propertyName) {
+		return "PROPERTY_" + propertyName;
+	}
+
+	/**
+	 * Writes GFAModelIds class with dense ids of link and property names of the model in sorted order
+	 * and the tables resolving names to ids.
+	 */
+	public static void writeModelIdsClass(String folder) throws IOException {
+		try (PrintWriter writer = OutputCache.getWriter(folder + MODEL_IDS_CLASS_NAME + ".java")) {
+			Main.addPackage(writer, "org.verapdf.gf.model.impl.arlington");
+			writer.println();
+			Main.addImport(writer, "java.util.HashMap");
+			Main.addImport(writer, "java.util.Map");
+			writer.println();
+			writer.println("public class " + MODEL_IDS_CLASS_NAME + " {");
+			writer.println();
+			int id = 0;
+			for (String linkName : ModelGeneration.getLinkNames()) {
+				writer.println("\tpublic static final int " + getLinkIdName(linkName) + " = " + id++ + ";");
+			}
+			writer.println();
+			id = 0;
+			for (String propertyName : ModelGeneration.getPropertyNames()) {
+				writer.println("\tpublic static final int " + getPropertyIdName(propertyName) + " = " + id++ + ";");
+			}
+			writer.println();
+			writer.println("\tprivate static final Map<String, Integer> linkIds = new HashMap<>();");
+			writer.println("\tprivate static final Map<String, Integer> propertyIds = new HashMap<>();");
+			writer.println();
+			writer.println("\tstatic {");
+			for (String linkName : ModelGeneration.getLinkNames()) {
+				writer.println("\t\tlinkIds.put(\"" + linkName + "\", " + getLinkIdName(linkName) + ");");
+			}
+			for (String propertyName : ModelGeneration.getPropertyNames()) {
+				writer.println("\t\tpropertyIds.put(\"" + propertyName + "\", " + getPropertyIdName(propertyName) + ");");
+			}
+			writer.println("\t}");
+			writer.println();
+			writer.println("\t/**");
+			writer.println("\t * @return id of the link for getLinkedObjects(int) or -1 if the link is unknown");
+			writer.println("\t */");
+			writer.println("\tpublic static int getLinkId(String linkName) {");
+			writer.println("\t\treturn linkIds.getOrDefault(linkName, -1);");
+			writer.println("\t}");
+			writer.println();
+			writer.println("\t/**");
+			writer.println("\t * @return id of the property for getPropertyValue(int) or -1 if the property is unknown");
+			writer.println("\t */");
+			writer.println("\tpublic static int getPropertyId(String propertyName) {");
+			writer.println("\t\treturn propertyIds.getOrDefault(propertyName, -1);");
+			writer.println("\t}");
+			writer.println("}");
+		}
+	}
+
+	public static void writeConstantsClass(String folder) throws IOException {
+		try (PrintWriter writer = OutputCache.getWriter(folder + CONSTANTS_CLASS_NAME + ".java")) {
+			Main.addPackage(writer, "org.verapdf.gf.model.impl.arlington");
+			writer.println();
+			Main.addImport(writer, "org.verapdf.as.ASAtom");
+			writer.println();
+			writer.println("public class " + CONSTANTS_CLASS_NAME + " {");
+			writer.println();
+			for (String string : asAtomNames) {
+				writer.println("\tpublic static final ASAtom " + getASAtomConstantName(string) +
+						" = ASAtom.getASAtom(\"" + string + "\");");
+			}
+			writer.println("}");
+		}
 	}
 
 	public static String split(String stringName, boolean equals, List<String> values) {
@@ -2081,6 +3175,20 @@ public class JavaGeneration {
 		return result.toString();
 	}
 
+	/**
+	 * @return constructor of linked object, with -Darlington.java.sharedObjects=true it is called only if there is
+	 * no shared object of the same indirect object and type
+	 */
+	public static String linkedGFAObject(String entryName, String arlingtonObjectName, String objectName,
+										 String parentObject, String keyName) {
+		if (!SHARED_OBJECTS) {
+			return constructorGFAObject(entryName, arlingtonObjectName, objectName, parentObject, keyName);
+		}
+		return getMethodCall("getSharedObject", objectName, Object.getJavaClassName(arlingtonObjectName) + ".class",
+				keyName, "(sharedBase, sharedKeyName) -> " + constructorGFAObject(entryName, arlingtonObjectName,
+						"sharedBase", parentObject, "sharedKeyName"));
+	}
+
 	public static String constructorGFAObject(String entryName, String arlingtonObjectName, String objectName,
 											  String parentObject, String keyName) {
 		List<String> arguments = new LinkedList<>();
@@ -0,0 +1,216 @@
+package org.verapdf.arlington;
+
+import java.util.*;
+
+/**
+ * Graph of links between arlington objects of one pdf version. Object names are interned to int ids,
+ * links are kept as adjacency lists and reachability is computed with bitsets.
+ * Children of an object are all objects linked from its entries (predicates of links are ignored).
+ * Parents of an object are the existing objects linking it from link types without predicates.
+ */
+public class LinkGraph {
+
+	private final PDFVersion version;
+	private final Map<String, Integer> ids = new HashMap<>();
+	private final List<String> names = new ArrayList<>();
+	private final List<int[]> children = new ArrayList<>();
+	private final List<int[]> parents = new ArrayList<>();
+	private final Map<Integer, BitSet> reachableObjects = new HashMap<>();
+
+	/**
+	 * @param objectNames names of objects which could be parents of other objects
+	 */
+	public LinkGraph(PDFVersion version, Set<String> objectNames) {
+		this(version, version.getObjectIdMap(), objectNames);
+	}
+
+	LinkGraph(PDFVersion version, Map<String, Object> objectIdMap, Set<String> objectNames) {
+		this.version = version;
+		Map<Integer, BitSet> childrenSets = new HashMap<>();
+		Map<Integer, BitSet> parentsSets = new HashMap<>();
+		for (String objectName : new TreeSet<>(objectIdMap.keySet())) {
+			Object object = objectIdMap.get(objectName);
+			boolean isKnownObject = objectNames.contains(objectName);
+			int id = getOrCreateId(objectName);
+			BitSet objectChildren = childrenSets.computeIfAbsent(id, k -> new BitSet());
+			for (Entry entry : object.getEntries()) {
+				for (Type type : entry.getTypes()) {
+					for (String link : entry.getLinksWithoutPredicatesList(type)) {
+						objectChildren.set(getOrCreateId(link));
+					}
+					if (!isKnownObject || !type.isLinkType()) {
+						continue;
+					}
+					for (String link : entry.getLinks(type)) {
+						if (objectIdMap.get(link) != null) {
+							parentsSets.computeIfAbsent(getOrCreateId(link), k -> new BitSet()).set(id);
+						}
+					}
+				}
+			}
+		}
+		for (int id = 0; id < names.size(); id++) {
+			children.add(toArray(childrenSets.get(id)));
+			parents.add(toArray(parentsSets.get(id)));
+		}
+	}
+
+	private int getOrCreateId(String objectName) {
+		Integer id = ids.get(objectName);
+		if (id == null) {
+			id = names.size();
+			ids.put(objectName, id);
+			names.add(objectName);
+		}
+		return id;
+	}
+
+	private static int[] toArray(BitSet bitSet) {
+		return bitSet != null ? bitSet.stream().toArray() : new int[0];
+	}
+
+	public PDFVersion getVersion() {
+		return version;
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	public Integer getId(String objectName) {
+		return ids.get(objectName);
+	}
+
+	public String getName(int id) {
+		return names.get(id);
+	}
+
+	public Set<String> getChildren(String objectName) {
+		Integer id = ids.get(objectName);
+		return id != null ? getNames(children.get(id)) : Collections.emptySet();
+	}
+
+	public Set<String> getParents(String objectName) {
+		Integer id = ids.get(objectName);
+		return id != null ? getNames(parents.get(id)) : Collections.emptySet();
+	}
+
+	/**
+	 * @return names of objects reachable from the given object, including the object itself
+	 */
+	public Set<String> getReachableObjects(String objectName) {
+		Integer id = ids.get(objectName);
+		if (id == null) {
+			return Collections.singleton(objectName);
+		}
+		return getNames(getReachableObjects(id));
+	}
+
+	public boolean isReachable(String fromObjectName, String toObjectName) {
+		Integer fromId = ids.get(fromObjectName);
+		Integer toId = ids.get(toObjectName);
+		if (fromId == null || toId == null) {
+			return fromObjectName.equals(toObjectName);
+		}
+		return getReachableObjects(fromId).get(toId);
+	}
+
+	public Set<String> getActiveObjectNames() {
+		return getReachableObjects(Constants.DOCUMENT);
+	}
+
+	private synchronized BitSet getReachableObjects(int id) {
+		BitSet reachable = reachableObjects.get(id);
+		if (reachable == null) {
+			reachable = new BitSet(names.size());
+			reachable.set(id);
+			Deque<Integer> stack = new ArrayDeque<>();
+			stack.push(id);
+			while (!stack.isEmpty()) {
+				for (int child : children.get(stack.pop())) {
+					if (!reachable.get(child)) {
+						reachable.set(child);
+						stack.push(child);
+					}
+				}
+			}
+			reachableObjects.put(id, reachable);
+		}
+		return reachable;
+	}
+
+	/**
+	 * Tarjan's algorithm without recursion.
+	 * @return strongly connected components in reverse topological order
+	 */
+	public List<Set<String>> getStronglyConnectedComponents() {
+		int size = names.size();
+		int[] indexes = new int[size];
+		int[] lowLinks = new int[size];
+		int[] childPositions = new int[size];
+		Arrays.fill(indexes, -1);
+		BitSet onStack = new BitSet(size);
+		Deque<Integer> componentStack = new ArrayDeque<>();
+		Deque<Integer> callStack = new ArrayDeque<>();
+		List<Set<String>> components = new ArrayList<>();
+		int index = 0;
+		for (int root = 0; root < size; root++) {
+			if (indexes[root] != -1) {
+				continue;
+			}
+			callStack.push(root);
+			while (!callStack.isEmpty()) {
+				int id = callStack.peek();
+				if (indexes[id] == -1) {
+					indexes[id] = index;
+					lowLinks[id] = index;
+					index++;
+					componentStack.push(id);
+					onStack.set(id);
+				}
+				int[] idChildren = children.get(id);
+				if (childPositions[id] < idChildren.length) {
+					int child = idChildren[childPositions[id]++];
+					if (indexes[child] == -1) {
+						callStack.push(child);
+					} else if (onStack.get(child)) {
+						lowLinks[id] = Math.min(lowLinks[id], indexes[child]);
+					}
+					continue;
+				}
+				callStack.pop();
+				if (!callStack.isEmpty()) {
+					int parent = callStack.peek();
+					lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[id]);
+				}
+				if (lowLinks[id] == indexes[id]) {
+					Set<String> component = new TreeSet<>();
+					int member;
+					do {
+						member = componentStack.pop();
+						onStack.clear(member);
+						component.add(names.get(member));
+					} while (member != id);
+					components.add(component);
+				}
+			}
+		}
+		return components;
+	}
+
+	private Set<String> getNames(int[] idsArray) {
+		Set<String> result = new HashSet<>();
+		for (int id : idsArray) {
+			result.add(names.get(id));
+		}
+		return result;
+	}
+
+	private Set<String> getNames(BitSet bitSet) {
+		Set<String> result = new HashSet<>();
+		for (int id = bitSet.nextSetBit(0); id >= 0; id = bitSet.nextSetBit(id + 1)) {
+			result.add(names.get(id));
+		}
+		return result;
+	}
+}
@@ -92,7 +92,7 @@ public class Links {
 				if (map == null) {
 					continue;
 				}
-				addGetter(map, oldMapsIndexes, object, entry, type, version, 0, "");
+				object.getJavaGeneration().addTypedLinkGetter(map, oldMapsIndexes, object, entry, type, version);
 			}
 		}
 	}
@@ -8,7 +8,7 @@ public class LogsHandler extends Handler {
     int logsNumber = 0;
 
     @Override
-    public void publish(LogRecord record) {
+    public synchronized void publish(LogRecord record) {
         logsNumber++;
     }
 
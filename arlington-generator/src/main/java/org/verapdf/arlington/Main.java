@@ -4,13 +4,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import javafx.util.Pair;
 import org.verapdf.arlington.json.ItemDeserializer;
 import org.verapdf.arlington.json.JSONEntry;
+import org.verapdf.arlington.json.JSONModelReader;
 import org.verapdf.arlington.json.JSONValue;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,17 +28,26 @@ public class Main {
 	}
 
 	public static final SortedSet<String> objectNames = new TreeSet<>();
-	public static final SortedSet<String> extensionNames = new TreeSet<>();
+	public static final Set<String> extensionNames = PropertyEffects.set(Collections.synchronizedSortedSet(new TreeSet<>()));
 	public static final int EXPECTED_EXTENSIONS_NUMBER = 18;
 	public static final Map<String, MultiObject> objectIdMap = new HashMap<>();
 	private static final Map<PDFVersion, Set<String>> activeObjectNames = new HashMap<>();
+	private static final Map<PDFVersion, LinkGraph> linkGraphs = new HashMap<>();
 	private static final String VALIDATION_RESULT_FOLDER = "result_validation/";
+	private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+	//-Darlington.parallel=true generates profiles and GFA classes on a thread pool, output is the same as in the serial mode
+	private static final boolean PARALLEL_GENERATION = Boolean.getBoolean("arlington.parallel");
+	//-Darlington.json.reader=tree switches back to ObjectMapper with ItemDeserializer
+	private static final boolean TREE_JSON_READER = "tree".equals(System.getProperty("arlington.json.reader"));
 
 	public static void main(String[] args) throws IOException {
 		ModelGeneration.addPackageAndImportsToModel();
+		loadObjectIdMaps();
 		for (PDFVersion version : PDFVersion.values()) {
-			createObjectIdMapFromJSON(version);
 			ProfileGeneration.startProfile(version, version.getProfileWriter());
+			if (RulesCompilation.ENABLED) {
+				ProfileGeneration.startProfile(version, RulesCompilation.getProfileWriter(version));
+			}
 			objectNames.addAll(version.getObjectIdMap().keySet());
 		}
 //		fixAnnotProjectionObjectAFEntry();
@@ -50,6 +62,10 @@ public class Main {
 		for (PDFVersion version : PDFVersion.values()) {
 			ProfileGeneration.endProfile(version.getProfileWriter());
 			version.getProfileWriter().close();
+			if (RulesCompilation.ENABLED) {
+				ProfileGeneration.endProfile(RulesCompilation.getProfileWriter(version));
+				RulesCompilation.getProfileWriter(version).close();
+			}
 		}
 		if (extensionNames.size() != EXPECTED_EXTENSIONS_NUMBER) {
 			Main.LOGGER.log(Level.WARNING, String.format("Number of logs is changed. Should be %s instead of %s", EXPECTED_EXTENSIONS_NUMBER, extensionNames.size()));
@@ -71,75 +87,218 @@ public class Main {
 		annotProjection1_7.addEntry(af1_7);
 	}
 	
-	public static void createObjectIdMapFromJSON(PDFVersion version) throws IOException {
+	private static ObjectMapper createObjectMapper() {
 		ObjectMapper objectMapper = new ObjectMapper();
-		InputStream jsonFileInputStream = new FileInputStream("arlington" + version.getString() + ".json");
-		TypeReference<HashMap<String, Map<String, JSONEntry>>> typeRef
-				= new TypeReference<HashMap<String, Map<String, JSONEntry>>>() {};
 		objectMapper.enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
 		SimpleModule module = new SimpleModule();
 		module.addDeserializer(JSONValue.class, new ItemDeserializer());
 		objectMapper.registerModule(module);
-		Map<String, Map<String, JSONEntry>> jsonMap = objectMapper.readValue(new InputStreamReader(jsonFileInputStream,
-				StandardCharsets.UTF_8), typeRef);
+		return objectMapper;
+	}
+
+	public static void loadObjectIdMaps() throws IOException {
+		PDFVersion[] versions = PDFVersion.values();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(versions.length,
+				Runtime.getRuntime().availableProcessors()));
+		try {
+			List<Future<Map<String, Object>>> futures = new ArrayList<>(versions.length);
+			for (PDFVersion version : versions) {
+				futures.add(executor.submit(() -> readObjectIdMapFromJSON(version)));
+			}
+			//merge in version order so that the maps are filled exactly as in the serial run
+			for (int i = 0; i < versions.length; i++) {
+				versions[i].getObjectIdMap().putAll(getResult(futures.get(i)));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T> T getResult(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	public static void createObjectIdMapFromJSON(PDFVersion version) throws IOException {
+		version.getObjectIdMap().putAll(readObjectIdMapFromJSON(version));
+	}
+
+	private static Map<String, Object> readObjectIdMapFromJSON(PDFVersion version) throws IOException {
+		TypeReference<HashMap<String, Map<String, JSONEntry>>> typeRef
+				= new TypeReference<HashMap<String, Map<String, JSONEntry>>>() {};
+		Map<String, Map<String, JSONEntry>> jsonMap;
+		try (Reader jsonFileReader = new InputStreamReader(new FileInputStream("arlington" + version.getString() + ".json"),
+				StandardCharsets.UTF_8)) {
+			jsonMap = TREE_JSON_READER ? OBJECT_MAPPER.readValue(jsonFileReader, typeRef) : JSONModelReader.read(jsonFileReader);
+		}
+		Map<String, Object> objectIdMap = new LinkedHashMap<>();
 		for (Map.Entry<String, Map<String, JSONEntry>> mapEntry : jsonMap.entrySet()) {
 			SortedSet<Entry> entries = new TreeSet<>();
 			for (Map.Entry<String, JSONEntry> mapMapEntry : mapEntry.getValue().entrySet()) {
 				mapMapEntry.getValue().setName(mapMapEntry.getKey());
 				entries.add(Entry.getEntryFromJSON(mapMapEntry.getValue()));
 			}
-			version.getObjectIdMap().put(mapEntry.getKey(), new Object(mapEntry.getKey(), entries));
+			objectIdMap.put(mapEntry.getKey(), new Object(mapEntry.getKey(), entries));
 		}
-		jsonFileInputStream.close();
+		return objectIdMap;
 	}
 
 	private static void generate() throws IOException {
 		for (String objectName : objectNames) {
 			objectIdMap.put(objectName, new MultiObject(objectName));
 		}
-		for (PDFVersion version : PDFVersion.values()) {
-			findActiveObjects(version);
-		}
-		for (String objectName : objectNames) {
-			MultiObject multiObject = objectIdMap.get(objectName);
-			Rules.addRules(multiObject);
-		}
-		for (String objectName : objectNames) {
-			generate(objectName);
+		if (PARALLEL_GENERATION) {
+			addRulesParallel();
+			addGenerationPredicatesProperties();
+			generateParallel();
+		} else {
+			for (String objectName : objectNames) {
+				MultiObject multiObject = objectIdMap.get(objectName);
+				Rules.addRules(multiObject);
+			}
+			for (String objectName : objectNames) {
+				generate(objectName);
+			}
 		}
-		JavaGeneration gfaObjectGeneration = new JavaGeneration(new PrintWriter(new FileWriter(Main.VALIDATION_RESULT_FOLDER + "GFAObject.java")));
-		gfaObjectGeneration.addGFAObject();
 		ModelGeneration.addAObject();
+		JavaGeneration gfaObjectGeneration = new JavaGeneration(OutputCache.getWriter(Main.VALIDATION_RESULT_FOLDER + "GFAObject.java"));
+		gfaObjectGeneration.addGFAObject();
+		RulesCompilation.writeRulesClass(VALIDATION_RESULT_FOLDER);
+		JavaGeneration.writeConstantsClass(VALIDATION_RESULT_FOLDER);
+		JavaGeneration.writeModelIdsClass(VALIDATION_RESULT_FOLDER);
 	}
 
-	private static void findActiveObjects(PDFVersion version) {
-		Stack<String> currentObjectNames = new Stack<>();
-		currentObjectNames.add(Constants.DOCUMENT);
-		Set<String> activeObjectNames = new HashSet<>();
-		activeObjectNames.add(Constants.DOCUMENT);
-		while (!currentObjectNames.isEmpty()) {
-			String objectName = currentObjectNames.pop();
-			Object object = version.getObjectIdMap().get(objectName);
-			if (object == null) {
-				continue;
-			}
-			for (Entry entry : object.getEntries()) {
-				for (Type type : entry.getTypes()) {
-					for (String link : entry.getLinksWithoutPredicatesList(type)) {
-						if (!activeObjectNames.contains(link) && !currentObjectNames.contains(link)) {
-							activeObjectNames.add(link);
-							currentObjectNames.add(link);
+	private static void addRulesParallel() throws IOException {
+		PDFVersion[] versions = PDFVersion.values();
+		List<MultiObject> multiObjects = new ArrayList<>(objectNames.size());
+		for (String objectName : objectNames) {
+			multiObjects.add(objectIdMap.get(objectName));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(versions.length,
+				Runtime.getRuntime().availableProcessors()));
+		try {
+			List<Future<List<List<Runnable>>>> futures = new ArrayList<>(versions.length);
+			for (PDFVersion version : versions) {
+				futures.add(executor.submit(() -> {
+					List<List<Runnable>> effects = new ArrayList<>(multiObjects.size());
+					for (MultiObject multiObject : multiObjects) {
+						PropertyEffects.startRecording();
+						try {
+							Rules.addRules(version, multiObject);
+						} finally {
+							effects.add(PropertyEffects.stopRecording());
 						}
 					}
+					return effects;
+				}));
+			}
+			List<List<List<Runnable>>> versionEffects = new ArrayList<>(versions.length);
+			for (Future<List<List<Runnable>>> future : futures) {
+				versionEffects.add(getResult(future));
+			}
+			//property effects are applied in the same order as in the serial mode
+			for (int i = 0; i < multiObjects.size(); i++) {
+				for (List<List<Runnable>> effects : versionEffects) {
+					PropertyEffects.apply(effects.get(i));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Parses predicates of links, since versions and default values, which are parsed again while classes are
+	 * generated, so that properties they add to linked objects are known before parallel generation starts
+	 * and classes do not depend on the order in which workers generate them. Warnings of this pass are not logged
+	 * to keep logs of generation unchanged.
+	 */
+	private static void addGenerationPredicatesProperties() {
+		for (PDFVersion version : PDFVersion.values()) {
+			for (Object object : version.getObjectIdMap().values()) {
+				for (Entry entry : object.getEntries()) {
+					addGenerationPredicatesProperties(version, object, entry);
 				}
 			}
 		}
-		Main.activeObjectNames.put(version, activeObjectNames);
+	}
+
+	private static void addGenerationPredicatesProperties(PDFVersion version, Object object, Entry entry) {
+		for (Type type : entry.getUniqLinkTypes()) {
+			for (String link : entry.getLinks(type)) {
+				if (link != null && link.contains(PredicatesParser.PREDICATE_PREFIX)) {
+					getSilentParser(object, entry, version, type, Constants.LINKS_COLUMN).parse("(" + link + ") == false");
+				}
+			}
+		}
+		if (entry.getSinceString() != null && entry.getSinceString().contains(PredicatesParser.PREDICATE_PREFIX)) {
+			getSilentParser(object, entry, version, null, Constants.SINCE_COLUMN).parse(entry.getSinceString());
+		}
+		Pair<Type, String> defaultPair = entry.getDefaultValue();
+		if (defaultPair != null && defaultPair.getValue() != null && !defaultPair.getValue().startsWith("@") &&
+				defaultPair.getKey() != Type.ARRAY && defaultPair.getValue().contains(PredicatesParser.PREDICATE_PREFIX)) {
+			getSilentParser(object, entry, version, defaultPair.getKey(), Constants.DEFAULT_VALUE_COLUMN)
+					.parse(defaultPair.getValue());
+		}
+	}
+
+	private static PredicatesParser getSilentParser(Object object, Entry entry, PDFVersion version, Type type,
+													String columnName) {
+		PredicatesParser parser = new PredicatesParser(object, entry, version, type, columnName, false);
+		parser.setLogWarnings(false);
+		return parser;
+	}
+
+	private static void generateParallel() throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			List<Future<String>> modelFragments = new ArrayList<>(objectNames.size());
+			List<List<Runnable>> effects = Collections.synchronizedList(new ArrayList<>(
+					Collections.nCopies(objectNames.size(), Collections.emptyList())));
+			int index = 0;
+			for (String objectName : objectNames) {
+				int objectIndex = index++;
+				modelFragments.add(executor.submit(() -> {
+					ModelGeneration.startFragment();
+					//properties of other objects are not changed while they are generated by other threads
+					PropertyEffects.startRecording();
+					try {
+						generate(objectName);
+						return ModelGeneration.getFragment();
+					} finally {
+						effects.set(objectIndex, PropertyEffects.stopRecording());
+						ModelGeneration.endFragment();
+					}
+				}));
+			}
+			//model types are added in objectNames order as in the serial mode
+			for (Future<String> modelFragment : modelFragments) {
+				ModelGeneration.addFragment(getResult(modelFragment));
+			}
+			//property effects are applied in the same order as in the serial mode
+			for (List<Runnable> objectEffects : effects) {
+				PropertyEffects.apply(objectEffects);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
 	private static void generate(String objectName) throws IOException {
 		MultiObject multiObject = objectIdMap.get(objectName);
-		PrintWriter javaWriter = new PrintWriter(new FileWriter(VALIDATION_RESULT_FOLDER + Object.getJavaClassName(objectName) + ".java"));
+		PrintWriter javaWriter = OutputCache.getWriter(VALIDATION_RESULT_FOLDER + Object.getJavaClassName(objectName) + ".java");
 		multiObject.setJavaGeneration(new JavaGeneration(javaWriter));
 		multiObject.getJavaGeneration().addPackageAndImportsToClass(objectName);
 		multiObject.getJavaGeneration().addClassStart(multiObject);
@@ -148,6 +307,8 @@ public class Main {
 		Links.addLinks(multiObject);
 		Properties.addProperties(multiObject);
 		ModelGeneration.addEndType();
+		multiObject.getJavaGeneration().addIndexedDispatchMethods(ModelGeneration.getTypeLinkNames(),
+				ModelGeneration.getTypePropertyNames(), false);
 		javaWriter.println("}");
 		javaWriter.close();
 	}
@@ -162,22 +323,11 @@ public class Main {
 
 	private static void findParents() {
 		for (PDFVersion version : PDFVersion.values()) {
-			for (String objectName : objectNames) {
-				Object object = version.getObjectIdMap().get(objectName);
-				if (object == null) {
-					continue;
-				}
-				for (Entry entry : object.getEntries()) {
-					for (Type linkType : entry.getUniqLinkTypes()) {
-						for (String link : entry.getLinks(linkType)) {
-							Object childObject = version.getObjectIdMap().get(link);
-							if (childObject == null) {
-								continue;
-							}
-							childObject.getPossibleParents().add(objectName);
-						}
-					}
-				}
+			LinkGraph linkGraph = new LinkGraph(version, objectNames);
+			linkGraphs.put(version, linkGraph);
+			activeObjectNames.put(version, linkGraph.getActiveObjectNames());
+			for (Object object : version.getObjectIdMap().values()) {
+				object.getPossibleParents().addAll(linkGraph.getParents(object.getId()));
 			}
 		}
 	}
@@ -194,4 +344,8 @@ public class Main {
 	public static Map<PDFVersion, Set<String>> getActiveObjectNames() {
 		return activeObjectNames;
 	}
+
+	public static LinkGraph getLinkGraph(PDFVersion version) {
+		return linkGraphs.get(version);
+	}
 }
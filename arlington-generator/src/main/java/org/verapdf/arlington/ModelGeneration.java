@@ -1,18 +1,27 @@
 package org.verapdf.arlington;
 
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 public class ModelGeneration {
 
 	private static final String MODEL_RESULT_FOLDER = "result_model/";
 
 	private static PrintWriter modelWriter;
+	private static final ThreadLocal<StringWriter> fragmentWriter = new ThreadLocal<>();
+	private static final ThreadLocal<PrintWriter> fragmentPrintWriter = new ThreadLocal<>();
+	private static final Set<String> propertyNames = new ConcurrentSkipListSet<>();
+	private static final Set<String> linkNames = new ConcurrentSkipListSet<>();
+	private static final ThreadLocal<Set<String>> typePropertyNames = ThreadLocal.withInitial(LinkedHashSet::new);
+	private static final ThreadLocal<Set<String>> typeLinkNames = ThreadLocal.withInitial(LinkedHashSet::new);
 
 	static {
 		try {
-			modelWriter = new PrintWriter(new FileWriter(MODEL_RESULT_FOLDER + "ALayer.mdl"));
+			modelWriter = OutputCache.getWriter(MODEL_RESULT_FOLDER + "ALayer.mdl");
 		} catch (IOException ignored) {
 		}
 	}
@@ -25,13 +34,43 @@ public class ModelGeneration {
 		modelWriter.println();
 	}
 
+	private static PrintWriter getModelWriter() {
+		PrintWriter writer = fragmentPrintWriter.get();
+		return writer != null ? writer : modelWriter;
+	}
+
+	/**
+	 * Redirects model output of the current thread into a buffer until endFragment is called.
+	 */
+	public static void startFragment() {
+		StringWriter writer = new StringWriter();
+		fragmentWriter.set(writer);
+		fragmentPrintWriter.set(new PrintWriter(writer));
+	}
+
+	public static String getFragment() {
+		fragmentPrintWriter.get().flush();
+		return fragmentWriter.get().toString();
+	}
+
+	public static void endFragment() {
+		fragmentWriter.remove();
+		fragmentPrintWriter.remove();
+	}
+
+	public static void addFragment(String fragment) {
+		modelWriter.print(fragment);
+	}
+
 	public static void addTypeToModel(String typeName, String parentName) {
-		modelWriter.println("type " + typeName + " extends " + parentName + " {");
+		getModelWriter().println("type " + typeName + " extends " + parentName + " {");
+		typePropertyNames.get().clear();
+		typeLinkNames.get().clear();
 	}
 
 	public static void addEndType() {
-		modelWriter.println("}");
-		modelWriter.println();
+		getModelWriter().println("}");
+		getModelWriter().println();
 	}
 
 	public static void close() {
@@ -39,17 +78,49 @@ public class ModelGeneration {
 	}
 
 	public static void addProperty(String propertyName, String propertyType) {
-		modelWriter.println("\tproperty " + propertyName + " : " + propertyType + ";");
+		getModelWriter().println("\tproperty " + propertyName + " : " + propertyType + ";");
+		propertyNames.add(propertyName);
+		typePropertyNames.get().add(propertyName);
 	}
 
 	public static void addLink(String linkName, String linkType, String modifier) {
-		modelWriter.println("\tlink " + linkName + " : " + linkType + modifier + ";");
+		getModelWriter().println("\tlink " + linkName + " : " + linkType + modifier + ";");
+		linkNames.add(linkName);
+		typeLinkNames.get().add(linkName);
 	}
 
 	public static void addLink(String linkName, String linkType) {
 		addLink(linkName, linkType, "?");
 	}
 
+	/**
+	 * @return sorted names of all properties of the model
+	 */
+	public static Set<String> getPropertyNames() {
+		return propertyNames;
+	}
+
+	/**
+	 * @return sorted names of all links of the model
+	 */
+	public static Set<String> getLinkNames() {
+		return linkNames;
+	}
+
+	/**
+	 * @return names of properties of the last type added to the model by the current thread
+	 */
+	public static Set<String> getTypePropertyNames() {
+		return typePropertyNames.get();
+	}
+
+	/**
+	 * @return names of links of the last type added to the model by the current thread
+	 */
+	public static Set<String> getTypeLinkNames() {
+		return typeLinkNames.get();
+	}
+
 	public static void addAObject() {
 		ModelGeneration.addTypeToModel(Object.getModelType(Constants.OBJECT), Constants.OBJECT);
 		ModelGeneration.addProperty(Constants.SIZE, Type.INTEGER.getModelType());
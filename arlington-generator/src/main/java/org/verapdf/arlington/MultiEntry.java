@@ -17,17 +17,17 @@ public class MultiEntry extends Entry {
 	private Boolean rectHeightProperty = false;
 	private Boolean entriesStringProperty = false;
 	private Boolean hasCycleProperty = false;
-	private final Set<String> inNameTreeProperties = new HashSet<>();
-	private final SortedSet<Type> typeValueProperties = new TreeSet<>();
-	private final SortedSet<Type> hasTypeProperties = new TreeSet<>();
-	private final Set<Integer> arraySortAscendingProperties = new HashSet<>();
+	private final Set<String> inNameTreeProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<Type> typeValueProperties = PropertyEffects.set(new TreeSet<>());
+	private final Set<Type> hasTypeProperties = PropertyEffects.set(new TreeSet<>());
+	private final Set<Integer> arraySortAscendingProperties = PropertyEffects.set(new HashSet<>());
 
 	public MultiEntry(String name) {
 		setName(name);
 	}
 
 	public void setContainsProperty(Boolean containsProperty) {
-		this.containsProperty = containsProperty;
+		PropertyEffects.run(() -> this.containsProperty = containsProperty);
 	}
 
 	public Boolean getContainsProperty() {
@@ -38,7 +38,7 @@ public class MultiEntry extends Entry {
 		typeValueProperties.add(type);
 	}
 
-	public SortedSet<Type> getTypeValueProperties() {
+	public Set<Type> getTypeValueProperties() {
 		return typeValueProperties;
 	}
 
@@ -46,7 +46,7 @@ public class MultiEntry extends Entry {
 		hasTypeProperties.add(type);
 	}
 
-	public SortedSet<Type> getHasTypeProperties() {
+	public Set<Type> getHasTypeProperties() {
 		return hasTypeProperties;
 	}
 
@@ -55,7 +55,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setHexStringProperty(Boolean hexStringProperty) {
-		this.hexStringProperty = hexStringProperty;
+		PropertyEffects.run(() -> this.hexStringProperty = hexStringProperty);
 	}
 
 	public Boolean getArraySizeProperty() {
@@ -63,7 +63,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setArraySizeProperty(Boolean arraySizeProperty) {
-		this.arraySizeProperty = arraySizeProperty;
+		PropertyEffects.run(() -> this.arraySizeProperty = arraySizeProperty);
 	}
 
 	public Boolean getStringSizeProperty() {
@@ -71,7 +71,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setStringSizeProperty(Boolean stringSizeProperty) {
-		this.stringSizeProperty = stringSizeProperty;
+		PropertyEffects.run(() -> this.stringSizeProperty = stringSizeProperty);
 	}
 
 	public Boolean getStreamSizeProperty() {
@@ -79,7 +79,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setStreamSizeProperty(Boolean streamSizeProperty) {
-		this.streamSizeProperty = streamSizeProperty;
+		PropertyEffects.run(() -> this.streamSizeProperty = streamSizeProperty);
 	}
 
 	public Boolean getRectWidthProperty() {
@@ -87,7 +87,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setRectWidthProperty(Boolean rectWidthProperty) {
-		this.rectWidthProperty = rectWidthProperty;
+		PropertyEffects.run(() -> this.rectWidthProperty = rectWidthProperty);
 	}
 
 	public Boolean getRectHeightProperty() {
@@ -95,7 +95,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setFieldNameProperty(Boolean fieldNameProperty) {
-		this.fieldNameProperty = fieldNameProperty;
+		PropertyEffects.run(() -> this.fieldNameProperty = fieldNameProperty);
 	}
 
 	public Boolean getFieldNameProperty() {
@@ -103,7 +103,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setRectHeightProperty(Boolean rectHeightProperty) {
-		this.rectHeightProperty = rectHeightProperty;
+		PropertyEffects.run(() -> this.rectHeightProperty = rectHeightProperty);
 	}
 
 	public Boolean getIndirectProperty() {
@@ -111,7 +111,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setIndirectProperty(Boolean indirectProperty) {
-		this.indirectProperty = indirectProperty;
+		PropertyEffects.run(() -> this.indirectProperty = indirectProperty);
 	}
 
 	public Set<Integer> getArraySortAscendingProperties() {
@@ -123,7 +123,7 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setEntriesStringProperty(Boolean entriesStringProperty) {
-		this.entriesStringProperty = entriesStringProperty;
+		PropertyEffects.run(() -> this.entriesStringProperty = entriesStringProperty);
 	}
 
 	public Set<String> getInNameTreeProperties() {
@@ -135,10 +135,15 @@ public class MultiEntry extends Entry {
 	}
 
 	public void setHasCycleProperty(Boolean hasCycleProperty) {
-		this.hasCycleProperty = hasCycleProperty;
+		PropertyEffects.run(() -> this.hasCycleProperty = hasCycleProperty);
 	}
 
-	public static Map<String, List<PDFVersion>> getDefaultValueMap(Object multiObject, String entryName) {
+	/**
+	 * @param constantValues set to which default values not depending on the document are added, matrix and rectangle
+	 *                       values are mutable arrays, so they are not added and are created on every call
+	 */
+	public static Map<String, List<PDFVersion>> getDefaultValueMap(Object multiObject, String entryName,
+																	Set<String> constantValues) {
 		Map<String, List<PDFVersion>> map = new TreeMap<>();
 		for (PDFVersion version : PDFVersion.values()) {
 			Object object = version.getObjectIdMap().get(multiObject.getId());
@@ -166,6 +171,9 @@ public class MultiEntry extends Entry {
 				}
 				defaultValue = PredicatesParser.removeQuotes(defaultValue);
 				defaultValue = type.getCreationCOSObject(type.getValueWithSeparator(defaultValue + type.getJavaPostfix()));
+				if (type != Type.MATRIX && type != Type.RECTANGLE) {
+					constantValues.add(defaultValue);
+				}
 			} else {
 				defaultValue = new PredicatesParser(object, entry, version, type, Constants.DEFAULT_VALUE_COLUMN,
 						false).parse(defaultValue);
@@ -10,20 +10,22 @@ public class MultiObject extends Object {
 
 	private boolean pageContainsStructContentItemsProperty = false;
 	private boolean imageIsStructContentItemProperty = false;
-	private final Set<String> arraySizeProperties = new TreeSet<>();
-	private final Set<Pair<String, String>> isInArrayProperties = new HashSet<>();
-	private final Set<Pair<String, String>> isNameTreeIndexProperties = new HashSet<>();
-	private final Set<Pair<String, String>> isNameTreeValueProperties = new HashSet<>();
-	private final Set<Pair<String, String>> isNumberTreeIndexProperties = new HashSet<>();
-	private final Set<Pair<String, String>> isNumberTreeValueProperties = new HashSet<>();
-	private final Set<String> keysStringProperties = new TreeSet<>();
-	private final Set<String> entriesStringProperties = new TreeSet<>();
-	private final Set<String> containsEntriesProperties = new TreeSet<>();
-	private final Map<String, Type> entriesValuesProperties = new TreeMap<>();
-	private final Map<String, Type> entriesHasTypeProperties = new TreeMap<>();
-	private final Map<String, String> findNMValueInArrayProperties = new TreeMap<>();
-	private final Map<String, String> entryNameToArlingtonObjectMap = new HashMap<>();
-	private final Set<String> complexObjectProperties = new TreeSet<>();
+	private final Set<String> arraySizeProperties = PropertyEffects.set(new TreeSet<>());
+	private final Set<Pair<String, String>> isInArrayProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<Pair<String, String>> isNameTreeIndexProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<Pair<String, String>> isNameTreeValueProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<Pair<String, String>> isNumberTreeIndexProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<Pair<String, String>> isNumberTreeValueProperties = PropertyEffects.set(new HashSet<>());
+	private final Set<String> keysStringProperties = PropertyEffects.set(new TreeSet<>());
+	private final Set<String> entriesStringProperties = PropertyEffects.set(new TreeSet<>());
+	private final Set<String> containsEntriesProperties = PropertyEffects.set(new TreeSet<>());
+	private final Map<String, Type> entriesValuesProperties = PropertyEffects.map(new TreeMap<>());
+	private final Map<String, Type> entriesHasTypeProperties = PropertyEffects.map(new TreeMap<>());
+	private final Map<String, String> findNMValueInArrayProperties = PropertyEffects.map(new TreeMap<>());
+	private final Map<String, String> entryNameToArlingtonObjectMap = PropertyEffects.map(new HashMap<>());
+	private final Set<String> complexObjectProperties = PropertyEffects.set(new TreeSet<>());
+	private final Map<String, Set<String>> extraKeysProperties = PropertyEffects.map(new TreeMap<>());
+	private final Map<String, Set<String>> futureKeysProperties = PropertyEffects.map(new TreeMap<>());
 
 	private final SortedSet<MultiEntry> entries;
 
@@ -57,6 +59,7 @@ public class MultiObject extends Object {
 				}
 				entry.setMultiEntry(multiEntry);
 				entries.add(multiEntry);
+				indexEntry(multiEntry);
 			}
 		}
 	}
@@ -106,6 +109,16 @@ public class MultiObject extends Object {
 		return entriesStringProperties;
 	}
 
+	@Override
+	public Map<String, Set<String>> getExtraKeysProperties() {
+		return extraKeysProperties;
+	}
+
+	@Override
+	public Map<String, Set<String>> getFutureKeysProperties() {
+		return futureKeysProperties;
+	}
+
 	@Override
 	public Map<String, Type> getEntriesValuesProperties() {
 		return entriesValuesProperties;
@@ -128,7 +141,7 @@ public class MultiObject extends Object {
 
 	@Override
 	public void setPageContainsStructContentItemsProperty(boolean pageContainsStructContentItemsProperty) {
-		this.pageContainsStructContentItemsProperty = pageContainsStructContentItemsProperty;
+		PropertyEffects.run(() -> this.pageContainsStructContentItemsProperty = pageContainsStructContentItemsProperty);
 	}
 
 	public boolean getPageContainsStructContentItemsProperty() {
@@ -146,7 +159,7 @@ public class MultiObject extends Object {
 
 	@Override
 	public void setImageIsStructContentItemProperty(boolean imageIsStructContentItemProperty) {
-		this.imageIsStructContentItemProperty = imageIsStructContentItemProperty;
+		PropertyEffects.run(() -> this.imageIsStructContentItemProperty = imageIsStructContentItemProperty);
 	}
 
 	@Override
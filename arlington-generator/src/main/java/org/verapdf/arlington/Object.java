@@ -14,6 +14,12 @@ public class Object {
 	private final SortedSet<Entry> entries;
 	private final Set<String> possibleParents;
 	private MultiObject multiObject;
+	private Map<String, Entry> entriesByName = new HashMap<>();
+	//object kind flags derived from the id, computed on first use
+	private Boolean array;
+	private Boolean nameTree;
+	private Boolean numberTree;
+	private Boolean subArray;
 
 	public Object() {
 		this(null, new TreeSet<>());
@@ -27,6 +33,9 @@ public class Object {
 		this.id = id;
 		this.entries = entries;
 		this.possibleParents = possibleParents;
+		for (Entry entry : entries) {
+			indexEntry(entry);
+		}
 	}
 
 	public String getId() {
@@ -43,6 +52,11 @@ public class Object {
 
 	public void addEntry(Entry entry) {
 		entries.add(entry);
+		indexEntry(entry);
+	}
+
+	protected void indexEntry(Entry entry) {
+		entriesByName.putIfAbsent(entry.getName(), entry);
 	}
 
 	public List<? extends Entry> getNumberStarEntries() {
@@ -55,12 +69,15 @@ public class Object {
 	}
 
 	public Entry getEntry(String entryName) {
-		for (Entry entry : getEntries()) {
-			if (entryName.equals(entry.getName())) {
-				return entry;
+		if (entriesByName.size() != getEntries().size()) {
+			//entries were added bypassing addEntry
+			Map<String, Entry> index = new HashMap<>();
+			for (Entry entry : getEntries()) {
+				index.putIfAbsent(entry.getName(), entry);
 			}
+			entriesByName = index;
 		}
-		return null;
+		return entriesByName.get(entryName);
 	}
 	public Entry getEntry(Integer entryName) {
 		return getEntry(entryName.toString());
@@ -83,7 +100,10 @@ public class Object {
 	}
 
 	public boolean isArray() {
-		return isArray(getId());
+		if (array == null) {
+			array = isArray(getId());
+		}
+		return array;
 	}
 
 	public static boolean isArray(String id) {
@@ -91,11 +111,14 @@ public class Object {
 	}
 
 	public boolean isStream() {
-		return getEntries().stream().map(Entry::getName).anyMatch(s -> s.equals("DecodeParms"));
+		return getEntry("DecodeParms") != null;
 	}
 
 	public boolean isNameTree() {
-		return isNameTree(getId());
+		if (nameTree == null) {
+			nameTree = isNameTree(getId());
+		}
+		return nameTree;
 	}
 
 	public static boolean isNameTree(String id) {
@@ -103,7 +126,10 @@ public class Object {
 	}
 
 	public boolean isNumberTree() {
-		return isNumberTree(getId());
+		if (numberTree == null) {
+			numberTree = isNumberTree(getId());
+		}
+		return numberTree;
 	}
 
 	public static boolean isNumberTree(String id) {
@@ -111,7 +137,10 @@ public class Object {
 	}
 
 	public boolean isSubArray() {
-		return isSubArray(id);
+		if (subArray == null) {
+			subArray = isSubArray(getId());
+		}
+		return subArray;
 	}
 
 	public static boolean isSubArray(String id) {
@@ -194,6 +223,18 @@ public class Object {
 		return multiObject.getEntriesStringProperties();
 	}
 
+	public Map<String, Set<String>> getExtraKeysProperties() {
+		return multiObject.getExtraKeysProperties();
+	}
+
+	public Map<String, Set<String>> getFutureKeysProperties() {
+		return multiObject.getFutureKeysProperties();
+	}
+
+	public static String getFutureKeysPropertyName(PDFVersion version) {
+		return Constants.FUTURE_KEYS + version.getStringWithUnderScore();
+	}
+
 	public Map<String, Type> getEntriesValuesProperties() {
 		return multiObject.getEntriesValuesProperties();
 	}
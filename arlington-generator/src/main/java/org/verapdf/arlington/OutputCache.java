@@ -0,0 +1,58 @@
+package org.verapdf.arlington;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Writers for generated files. With -Darlington.skipIdenticalWrites=true generated content is compared with
+ * the existing file and the file is written only if it differs, so unchanged files are left untouched on disk
+ * and build tools see them as up to date. All files are still generated.
+ */
+public class OutputCache {
+
+	private static final boolean SKIP_IDENTICAL_WRITES = Boolean.getBoolean("arlington.skipIdenticalWrites");
+
+	public static PrintWriter getWriter(String fileName) throws IOException {
+		if (!SKIP_IDENTICAL_WRITES) {
+			return new PrintWriter(new BufferedWriter(new FileWriter(fileName)));
+		}
+		return new PrintWriter(new CachedFileWriter(fileName));
+	}
+
+	private static void writeFile(String fileName, String content) throws IOException {
+		byte[] bytes = content.getBytes(Charset.defaultCharset());
+		Path path = Paths.get(fileName);
+		if (Files.isRegularFile(path) && Files.size(path) == bytes.length &&
+				Arrays.equals(Files.readAllBytes(path), bytes)) {
+			return;
+		}
+		Files.write(path, bytes);
+	}
+
+	private static class CachedFileWriter extends StringWriter {
+
+		private final String fileName;
+		private boolean closed = false;
+
+		private CachedFileWriter(String fileName) {
+			this.fileName = fileName;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				writeFile(fileName, toString());
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
@@ -28,7 +28,7 @@ public enum PDFVersion {
 		this.version = version;
 		this.subversion = subversion;
 		try {
-			this.profileWriter = new PrintWriter(new FileWriter("ARLINGTON" + version + "-" + subversion + ".xml"));
+			this.profileWriter = OutputCache.getWriter("ARLINGTON" + version + "-" + subversion + ".xml");
 		} catch (IOException ignored) {
 		}
 	}
@@ -0,0 +1,109 @@
+package org.verapdf.arlington;
+
+import java.util.*;
+
+/**
+ * Splits arlington predicates into tokens for PredicateTree.
+ */
+public class PredicateTokenizer {
+
+	private static final byte OTHER = 0;
+	private static final byte ENTRY = 1;
+	private static final byte SEPARATOR = 2;
+	private static final byte SPACE = 3;
+
+	//character classes of ascii characters, entry characters are the ones matching ['A-Za-z//:.@\\*\\d\\-_]
+	private static final byte[] CHAR_CLASSES = new byte[128];
+
+	static {
+		for (char c = 'a'; c <= 'z'; c++) {
+			CHAR_CLASSES[c] = ENTRY;
+		}
+		for (char c = 'A'; c <= 'Z'; c++) {
+			CHAR_CLASSES[c] = ENTRY;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			CHAR_CLASSES[c] = ENTRY;
+		}
+		for (char c : "'/:.@*-_".toCharArray()) {
+			CHAR_CLASSES[c] = ENTRY;
+		}
+		CHAR_CLASSES['('] = SEPARATOR;
+		CHAR_CLASSES[')'] = SEPARATOR;
+		CHAR_CLASSES[','] = SEPARATOR;
+		CHAR_CLASSES[' '] = SPACE;
+	}
+
+	public static List<String> tokenize(String predicate) {
+		int[] offsets = scan(predicate);
+		List<String> tokens = new ArrayList<>(offsets.length / 2);
+		for (int i = 0; i < offsets.length; i += 2) {
+			tokens.add(getToken(predicate, offsets[i], offsets[i + 1]));
+		}
+		return Collections.unmodifiableList(tokens);
+	}
+
+	/**
+	 * @return start (inclusive) and end (exclusive) offsets of all tokens of the predicate
+	 */
+	public static int[] scan(String predicate) {
+		int length = predicate.length();
+		int[] offsets = new int[8];
+		int size = 0;
+		int tokenStart = 0;
+		byte tokenClass = OTHER;
+		for (int i = 0; i < length; i++) {
+			byte charClass = getCharClass(predicate.charAt(i));
+			if (charClass == SEPARATOR || charClass == SPACE) {
+				if (tokenStart < i) {
+					offsets = addToken(offsets, size, tokenStart, i);
+					size += 2;
+				}
+				if (charClass == SEPARATOR) {
+					offsets = addToken(offsets, size, i, i + 1);
+					size += 2;
+				}
+				tokenStart = i + 1;
+			} else {
+				if (tokenStart < i && tokenClass != charClass) {
+					offsets = addToken(offsets, size, tokenStart, i);
+					size += 2;
+					tokenStart = i;
+				}
+				tokenClass = charClass;
+			}
+		}
+		if (tokenStart < length) {
+			offsets = addToken(offsets, size, tokenStart, length);
+			size += 2;
+		}
+		return Arrays.copyOf(offsets, size);
+	}
+
+	private static byte getCharClass(char c) {
+		return c < CHAR_CLASSES.length ? CHAR_CLASSES[c] : OTHER;
+	}
+
+	private static int[] addToken(int[] offsets, int size, int start, int end) {
+		if (size + 2 > offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[size] = start;
+		offsets[size + 1] = end;
+		return offsets;
+	}
+
+	private static String getToken(String predicate, int start, int end) {
+		if (end - start == 1) {
+			switch (predicate.charAt(start)) {
+				case '(':
+					return "(";
+				case ')':
+					return ")";
+				case ',':
+					return ",";
+			}
+		}
+		return predicate.substring(start, end);
+	}
+}
@@ -0,0 +1,200 @@
+package org.verapdf.arlington;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Syntax tree of an arlington predicate. Trees depend only on the predicate text, so they are built once, cached and
+ * shared by all versions, objects, entries and columns containing the same predicate. PredicatesParser lowers the
+ * cached tree for its own context.
+ */
+public class PredicateTree {
+
+	private static final Map<String, PredicateTree> treesCache = new ConcurrentHashMap<>();
+
+	//marker of an opening bracket in the output stack
+	private static final Node OPEN = new Operand("(");
+
+	private final List<Node> nodes;
+
+	private PredicateTree(List<Node> nodes) {
+		this.nodes = Collections.unmodifiableList(nodes);
+	}
+
+	/**
+	 * @return top level nodes of the predicate, there are several of them only if operands are not separated
+	 * by operators
+	 */
+	public List<Node> getNodes() {
+		return nodes;
+	}
+
+	public static PredicateTree getTree(String predicate) {
+		return treesCache.computeIfAbsent(predicate, PredicateTree::parse);
+	}
+
+	public static PredicateTree parse(String predicate) {
+		return parse(PredicateTokenizer.tokenize(predicate));
+	}
+
+	public static PredicateTree parse(List<String> tokens) {
+		Stack<String> operators = new Stack<>();
+		Stack<Node> output = new Stack<>();
+		for (String token : tokens) {
+			switch (token) {
+				case "(":
+					operators.push(token);
+					output.push(OPEN);
+					break;
+				case ")":
+					reduceToBracket(operators, output);
+					operators.pop();
+					List<Node> arguments = new ArrayList<>();
+					while (!output.isEmpty() && output.peek() != OPEN) {
+						arguments.add(0, output.pop());
+					}
+					if (output.isEmpty()) {
+						throw new RuntimeException("This expression is invalid");
+					}
+					output.pop();
+					String functionName = !operators.isEmpty() && operators.peek().startsWith(PredicatesParser.PREDICATE_PREFIX) ?
+							operators.pop() : null;
+					output.push(new Call(functionName, arguments));
+					break;
+				case ",":
+					reduceToBracket(operators, output);
+					break;
+				default:
+					if (token.startsWith(PredicatesParser.PREDICATE_PREFIX)) {
+						operators.push(token);
+						break;
+					}
+					PredicatesParser.Operator operator = PredicatesParser.Operator.getOperator(token);
+					if (operator != null) {
+						while (!operators.isEmpty() && PredicatesParser.Operator.getOperator(operators.peek()) != null &&
+								operator.getPrecedence() <= PredicatesParser.Operator.getOperator(operators.peek()).getPrecedence() &&
+								operator.isHasLeftAssociativity()) {
+							reduce(operators.pop(), output);
+						}
+						operators.push(token);
+					} else {
+						output.push(new Operand(token));
+					}
+			}
+		}
+		while (!operators.isEmpty()) {
+			if (PredicatesParser.Operator.getOperator(operators.peek()) == null) {
+				throw new RuntimeException("This expression is invalid");
+			}
+			reduce(operators.pop(), output);
+		}
+		return new PredicateTree(new ArrayList<>(output));
+	}
+
+	private static void reduceToBracket(Stack<String> operators, Stack<Node> output) {
+		while (!operators.isEmpty() && !"(".equals(operators.peek())) {
+			reduce(operators.pop(), output);
+		}
+		if (operators.isEmpty()) {
+			throw new RuntimeException("This expression is invalid");
+		}
+	}
+
+	private static void reduce(String operator, Stack<Node> output) {
+		if (output.size() < 2 || output.peek() == OPEN || output.get(output.size() - 2) == OPEN) {
+			throw new RuntimeException("Missing argument of operator " + operator);
+		}
+		Node secondArgument = output.pop();
+		Node firstArgument = output.pop();
+		output.push(new BinaryOperation(PredicatesParser.Operator.getOperator(operator), firstArgument, secondArgument));
+	}
+
+	public abstract static class Node {
+	}
+
+	/**
+	 * Entry name, key value, number or any other token which is not an operator, function name or separator.
+	 */
+	public static class Operand extends Node {
+		private final String text;
+
+		public Operand(String text) {
+			this.text = text;
+		}
+
+		public String getText() {
+			return text;
+		}
+
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+
+	public static class BinaryOperation extends Node {
+		private final PredicatesParser.Operator operator;
+		private final Node firstArgument;
+		private final Node secondArgument;
+
+		public BinaryOperation(PredicatesParser.Operator operator, Node firstArgument, Node secondArgument) {
+			this.operator = operator;
+			this.firstArgument = firstArgument;
+			this.secondArgument = secondArgument;
+		}
+
+		public PredicatesParser.Operator getOperator() {
+			return operator;
+		}
+
+		public Node getFirstArgument() {
+			return firstArgument;
+		}
+
+		public Node getSecondArgument() {
+			return secondArgument;
+		}
+
+		@Override
+		public String toString() {
+			return "(" + firstArgument + " " + operator.getOperator() + " " + secondArgument + ")";
+		}
+	}
+
+	/**
+	 * Function call or, if function name is null, expression in brackets.
+	 */
+	public static class Call extends Node {
+		private final String functionName;
+		private final List<Node> arguments;
+
+		public Call(String functionName, List<Node> arguments) {
+			this.functionName = functionName;
+			this.arguments = Collections.unmodifiableList(arguments);
+		}
+
+		public String getFunctionName() {
+			return functionName;
+		}
+
+		public List<Node> getArguments() {
+			return arguments;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder();
+			if (functionName != null) {
+				result.append(functionName);
+			}
+			result.append("[");
+			for (int i = 0; i < arguments.size(); i++) {
+				if (i != 0) {
+					result.append(", ");
+				}
+				result.append(arguments.get(i));
+			}
+			return result.append("]").toString();
+		}
+	}
+}
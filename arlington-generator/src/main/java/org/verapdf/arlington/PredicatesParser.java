@@ -25,6 +25,7 @@ public class PredicatesParser {
 
 	private boolean isProfile = true;//false if java code
 	protected boolean isDescription = false;
+	private boolean logWarnings = true;
 	protected final PartStack output = new PartStack();
 	protected final Stack<String> operators = new Stack<>();
 	List<Part> arguments = new LinkedList<>();
@@ -58,6 +59,10 @@ public class PredicatesParser {
 		this(object, entry, version, type, columnName, true);
 	}
 
+	public void setLogWarnings(boolean logWarnings) {
+		this.logWarnings = logWarnings;
+	}
+
 	public static class PartStack extends Stack<Part> {
 		protected void push(String s) {
 			push(new Part(s));
@@ -78,7 +83,7 @@ public class PredicatesParser {
 				return null;
 			}
 			if (result.contains("@") || Entry.isComplexEntry(result)) {
-				Main.LOGGER.log(Level.WARNING, getString() + " result: " + result + " original: " + str);
+				logWarning(getString() + " result: " + result + " original: " + str);
 				return null;
 			}
 			if (result.contains(PREDICATE_PREFIX)) {
@@ -86,53 +91,15 @@ public class PredicatesParser {
 			}
 			return result;
 		} catch (RuntimeException e) {
-			Main.LOGGER.log(Level.WARNING, getString() + ": " + str + ". Error: " + e.getMessage());
+			logWarning(getString() + ": " + str + ". Error: " + e.getMessage());
 		}
 		return null;
 	}
 
 	public String parseString(String str) {
-		StringBuilder currentString = new StringBuilder();
-		boolean flag = false;
-		for (int i = 0; i < str.length(); i++) {
-			switch (str.charAt(i)) {
-				case '(':
-					processToken(currentString.toString());
-					currentString = new StringBuilder();
-					processToken("(");
-					break;
-				case ')':
-					processToken(currentString.toString());
-					currentString = new StringBuilder();
-					processToken(")");
-					break;
-				case ',':
-					processToken(currentString.toString());
-					currentString = new StringBuilder();
-					processToken(",");
-					break;
-				case ' ':
-					processToken(currentString.toString());
-					currentString = new StringBuilder();
-					break;
-				default:
-					boolean newFlag = String.valueOf(str.charAt(i)).matches(ENTRY_REGEX);
-					if (currentString.length() > 0) {
-						if (flag && !newFlag) {
-							processToken(currentString.toString());
-							currentString = new StringBuilder();
-						}
-						if (!flag && newFlag) {
-							processToken(currentString.toString());
-							currentString = new StringBuilder();
-						}
-					}
-					currentString.append(str.charAt(i));
-					flag = newFlag;
-					break;
-			}
+		for (PredicateTree.Node node : PredicateTree.getTree(str).getNodes()) {
+			lower(node);
 		}
-		processToken(currentString.toString());
 		while (!operators.isEmpty()) {
 			if ("(".equals(operators.peek())) {
 				throw new RuntimeException("This expression is invalid");
@@ -194,23 +161,77 @@ public class PredicatesParser {
 			if (string == null) {
 				return null;
 			}
-			for (Operator operator : values()) {
-				if (string.equals(operator.getOperator())) {
-					return operator;
-				}
+			switch (string) {
+				case "||":
+					return OR;
+				case "&&":
+					return AND;
+				case "!=":
+					return NON_EQUALS;
+				case "==":
+					return EQUALS;
+				case ">":
+					return GREATER;
+				case ">=":
+					return EQUAL_GREATER;
+				case "<":
+					return LESS;
+				case "<=":
+					return EQUAL_LESS;
+				case "+":
+					return ADD;
+				case "-":
+					return SUB;
+				case "mod":
+					return MOD;
+				default:
+					return null;
 			}
-			return null;
 		}
 	}
 
 	public static boolean isOperator(String string) {
-		return "+".equals(string) || "-".equals(string) || "<=".equals(string) || "<".equals(string) ||
-				">".equals(string) || ">=".equals(string) || "||".equals(string) || "==".equals(string) ||
-				"&&".equals(string) || "!=".equals(string) || "mod".equals(string);
+		return Operator.getOperator(string) != null;
+	}
+
+	/**
+	 * Performs the same operations on the output and operators stacks as processing the original tokens of the node
+	 */
+	private void lower(PredicateTree.Node node) {
+		if (node instanceof PredicateTree.BinaryOperation) {
+			PredicateTree.BinaryOperation operation = (PredicateTree.BinaryOperation) node;
+			lower(operation.getFirstArgument());
+			int operatorsSize = operators.size();
+			operators.push(operation.getOperator().getOperator());
+			lower(operation.getSecondArgument());
+			executeOperators(operatorsSize);
+		} else if (node instanceof PredicateTree.Call) {
+			PredicateTree.Call call = (PredicateTree.Call) node;
+			int operatorsSize = operators.size();
+			if (call.getFunctionName() != null) {
+				operators.push(call.getFunctionName());
+				output.push(call.getFunctionName());
+			}
+			operators.add("(");
+			output.add("(");
+			for (PredicateTree.Node argument : call.getArguments()) {
+				lower(argument);
+			}
+			operators.pop();
+			executeFunction(!operators.isEmpty() ? operators.pop() : "");
+			executeOperators(operatorsSize);
+		} else {
+			output.add(new Part(addQuotes(((PredicateTree.Operand) node).getText())));
+		}
 	}
 
-	protected void processToken(String token) {
-		processToken(new Part(token), true);
+	/**
+	 * Executes operators above the given stack size, including the ones added or left by functions, like fn:Not
+	 */
+	private void executeOperators(int operatorsSize) {
+		while (operators.size() > operatorsSize) {
+			executeOperator(operators.pop(), true);
+		}
 	}
 
 	private void processTokens(java.lang.Object ... tokens) {
@@ -220,14 +241,14 @@ public class PredicatesParser {
 	private void processTokensArray(java.lang.Object[] tokens) {
 		for (java.lang.Object token : tokens) {
 			if (token instanceof String) {
-				processToken(new Part((String)token), false);
+				processToken(new Part((String)token));
 			} else {
-				processToken((Part)token, false);
+				processToken((Part)token);
 			}
 		}
 	}
 
-	private void processToken(Part part, boolean isOriginal) {
+	private void processToken(Part part) {
 		switch (part.getString()) {
 			case "":
 				return;
@@ -237,14 +258,14 @@ public class PredicatesParser {
 				break;
 			case ")":
 				while (!operators.isEmpty() && !"(".equals(operators.peek())) {
-					executeOperator(operators.pop(), isOriginal);
+					executeOperator(operators.pop(), false);
 				}
 				operators.pop();
 				executeFunction(!operators.isEmpty() ? operators.pop() : "");
 				break;
 			case ",":
 				while (!"(".equals(operators.peek())) {
-					executeOperator(operators.pop(), isOriginal);
+					executeOperator(operators.pop(), false);
 				}
 				break;
 			default:
@@ -257,11 +278,11 @@ public class PredicatesParser {
 						while (!operators.isEmpty() && Operator.getOperator(operators.peek()) != null &&
 								operator.getPrecedence() <= Operator.getOperator(operators.peek()).getPrecedence() &&
 								operator.isHasLeftAssociativity()) {
-							executeOperator(operators.pop(), isOriginal);
+							executeOperator(operators.pop(), false);
 						}
 						operators.push(operator.getOperator());
 					} else {
-						output.add(isOriginal ? new Part(addQuotes(part.getString())) : part);
+						output.add(part);
 					}
 				}
 		}
@@ -691,6 +712,12 @@ public class PredicatesParser {
 				valueOnlyWhen();
 				break;
 			default:
+				if (functionName.startsWith(PREDICATE_PREFIX)) {
+					//unsupported function, predicate will be skipped
+					Part res = getNewPart(arguments);
+					output.push(new Part(functionName + "(" + res.getString() + ")", res.getUndefinedEntries()));
+					break;
+				}
 				StringBuilder result = new StringBuilder();
 				if (!token.getString().isEmpty()) {
 					output.push(token);
@@ -1605,7 +1632,7 @@ public class PredicatesParser {
 		}
 		Entry entry = object.getEntry(entryName);
 		if (entry != null && entry.getUniqPropertyTypes().size() != 1) {
-			Main.LOGGER.log(Level.WARNING, getString() + " " + entry.getName() + " several property types");
+			logWarning(getString() + " " + entry.getName() + " several property types");
 		}
 		if (entry == null || entry.getUniqPropertyTypes().size() != 1) {
 			return new Part(argument);
@@ -1686,8 +1713,8 @@ public class PredicatesParser {
 				if (Constants.STAR.equals(entryName)) {
 					entryName = Constants.CURRENT_ENTRY;
 				}
-				if (entryName.matches(Constants.NUMBER_REGEX) && !currentObject.getEntriesNames().contains(entryName) &&
-						currentObject.getEntriesNames().contains(Constants.STAR)) {
+				if (Entry.isNumber(entryName) && currentObject.getEntry(entryName) == null &&
+						currentObject.getEntry(Constants.STAR) != null) {
 					entryName = Constants.STAR;
 				}
 				if (Constants.STAR.equals(entryName)) {
@@ -1751,8 +1778,8 @@ public class PredicatesParser {
 		entryName = entryName.substring(1);
 		Set<Type> types = new HashSet<>();
 		for (Object currentObject : currentObjects) {
-			if (entryName.matches(Constants.NUMBER_REGEX) && !currentObject.getEntriesNames().contains(entryName) &&
-					currentObject.getEntriesNames().contains(Constants.STAR)) {
+			if (Entry.isNumber(entryName) && currentObject.getEntry(entryName) == null &&
+					currentObject.getEntry(Constants.STAR) != null) {
 				entryName = Constants.STAR;
 			}
 			Entry entry = currentObject.getEntry(entryName);
@@ -1761,9 +1788,9 @@ public class PredicatesParser {
 			}
 		}
 		if (types.size() < 1) {
-			Main.LOGGER.log(Level.WARNING, getString() + " " + entryName + " Types not found");
+			logWarning(getString() + " " + entryName + " Types not found");
 		} else if (types.size() > 1) {
-			Main.LOGGER.log(Level.WARNING, getString() + " " + entryName + " Several types found");
+			logWarning(getString() + " " + entryName + " Several types found");
 		} else {
 			Type type = types.iterator().next();
 			object.getEntriesValuesProperties().put(argument, type);
@@ -1847,6 +1874,12 @@ public class PredicatesParser {
 		}
 	}
 
+	private void logWarning(String message) {
+		if (logWarnings) {
+			Main.LOGGER.log(Level.WARNING, message);
+		}
+	}
+
 	protected String getString() {
 		return Main.getString(version, object, entry, type) + " column name " + columnName;
 	}
@@ -7,8 +7,19 @@ public class ProfileGeneration {
 
 	public static void writeRule(PDFVersion version, int ruleNumber, String object, String clause, String test, String description,
 								  String errorMessage, String ... errorArguments) {
-		PrintWriter profileWriter = version.getProfileWriter();
-		if (isDeferred(test)) {
+		boolean isDeferred = isDeferred(test);
+		writeRule(version.getProfileWriter(), isDeferred, version, ruleNumber, object, clause, test, description,
+				errorMessage, errorArguments);
+		if (RulesCompilation.ENABLED) {
+			writeRule(RulesCompilation.getProfileWriter(version), isDeferred, version, ruleNumber, object, clause,
+					RulesCompilation.compileRule(version, object, test), description, errorMessage, errorArguments);
+		}
+	}
+
+	private static void writeRule(PrintWriter profileWriter, boolean isDeferred, PDFVersion version, int ruleNumber,
+								  String object, String clause, String test, String description, String errorMessage,
+								  String ... errorArguments) {
+		if (isDeferred) {
 			profileWriter.println("\t\t<rule object=\"" + object + "\" deferred=\"true\">");
 		} else {
 			profileWriter.println("\t\t<rule object=\"" + object + "\">");
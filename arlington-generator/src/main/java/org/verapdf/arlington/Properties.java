@@ -3,6 +3,7 @@ package org.verapdf.arlington;
 import javafx.util.Pair;
 
 import java.util.Map;
+import java.util.Set;
 
 public class Properties {
 
@@ -108,6 +109,12 @@ public class Properties {
 		for (String entryName : multiObject.getEntriesStringProperties()) {
 			addEntriesString(multiObject, entryName);
 		}
+		for (Map.Entry<String, Set<String>> entry : multiObject.getExtraKeysProperties().entrySet()) {
+			addKeysSet(multiObject, entry.getKey(), entry.getValue(), false);
+		}
+		for (Map.Entry<String, Set<String>> entry : multiObject.getFutureKeysProperties().entrySet()) {
+			addKeysSet(multiObject, entry.getKey(), entry.getValue(), true);
+		}
 	}
 
 	private static void addPageContainsStructContentItems(MultiObject multiObject) {
@@ -165,6 +172,11 @@ public class Properties {
 		multiObject.getJavaGeneration().addEntriesStringMethod(multiObject, entryName);
 	}
 
+	private static void addKeysSet(MultiObject multiObject, String propertyName, Set<String> keys, boolean containsKeys) {
+		ModelGeneration.addProperty(propertyName, Type.STRING.getModelType());
+		multiObject.getJavaGeneration().addKeysSetMethod(propertyName, keys, containsKeys);
+	}
+
 	private static void addKeysString(MultiObject multiObject, String entryName) {
 		ModelGeneration.addProperty(Entry.getKeysStringPropertyName(entryName), Type.STRING.getModelType());
 		multiObject.getJavaGeneration().addKeysStringMethod(multiObject, entryName);
@@ -0,0 +1,122 @@
+package org.verapdf.arlington;
+
+import java.util.*;
+
+/**
+ * Property side effects of rules generation. While recording is started in the current thread, changes of
+ * MultiObject and MultiEntry properties are collected instead of being applied, so that rules of different
+ * pdf versions could be generated concurrently and the effects could be applied later in the serial order.
+ */
+public class PropertyEffects {
+
+	private static final ThreadLocal<List<Runnable>> recordedEffects = new ThreadLocal<>();
+
+	public static void startRecording() {
+		recordedEffects.set(new ArrayList<>());
+	}
+
+	public static List<Runnable> stopRecording() {
+		List<Runnable> effects = recordedEffects.get();
+		recordedEffects.remove();
+		return effects;
+	}
+
+	public static void apply(List<Runnable> effects) {
+		for (Runnable effect : effects) {
+			effect.run();
+		}
+	}
+
+	static void run(Runnable effect) {
+		List<Runnable> effects = recordedEffects.get();
+		if (effects != null) {
+			effects.add(effect);
+		} else {
+			effect.run();
+		}
+	}
+
+	static boolean isRecording() {
+		return recordedEffects.get() != null;
+	}
+
+	static <E> Set<E> set(Set<E> set) {
+		return new PropertySet<>(set);
+	}
+
+	static <K, V> Map<K, V> map(Map<K, V> map) {
+		return new PropertyMap<>(map);
+	}
+
+	/**
+	 * While recording, add returns the result it would have for the current content of the set.
+	 */
+	private static class PropertySet<E> extends AbstractSet<E> {
+
+		private final Set<E> set;
+
+		private PropertySet(Set<E> set) {
+			this.set = set;
+		}
+
+		@Override
+		public boolean add(E element) {
+			if (!isRecording()) {
+				return set.add(element);
+			}
+			run(() -> set.add(element));
+			return !set.contains(element);
+		}
+
+		@Override
+		public boolean contains(java.lang.Object element) {
+			return set.contains(element);
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return Collections.unmodifiableSet(set).iterator();
+		}
+
+		@Override
+		public int size() {
+			return set.size();
+		}
+	}
+
+	/**
+	 * While recording, put returns the value currently associated with the key.
+	 */
+	private static class PropertyMap<K, V> extends AbstractMap<K, V> {
+
+		private final Map<K, V> map;
+
+		private PropertyMap(Map<K, V> map) {
+			this.map = map;
+		}
+
+		@Override
+		public V put(K key, V value) {
+			if (!isRecording()) {
+				return map.put(key, value);
+			}
+			run(() -> map.put(key, value));
+			return map.get(key);
+		}
+
+		@Override
+		public V get(java.lang.Object key) {
+			return map.get(key);
+		}
+
+		@Override
+		public boolean containsKey(java.lang.Object key) {
+			return map.containsKey(key);
+		}
+
+		@Override
+		public Set<Map.Entry<K, V>> entrySet() {
+			return Collections.unmodifiableMap(map).entrySet();
+		}
+	}
+}
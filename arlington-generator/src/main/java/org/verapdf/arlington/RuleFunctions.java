@@ -0,0 +1,128 @@
+package org.verapdf.arlington;
+
+/**
+ * JavaScript semantics of operators used in profile rule tests for values of model properties
+ * (null, Boolean, Long, Double and String). SOURCE is the only definition of these functions, it is generated
+ * into GFARules class and checked against JavaScript by RulesCompilationTest.
+ */
+public class RuleFunctions {
+
+	private static final String NUMBER_REGEX = "[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?";
+	private static final String HEX_NUMBER_REGEX = "0[xX][0-9a-fA-F]+";
+
+	public static final String SOURCE =
+			"\tpublic static boolean isTrue(Object value) {\n" +
+			"\t\tif (value == null) {\n" +
+			"\t\t\treturn false;\n" +
+			"\t\t}\n" +
+			"\t\tif (value instanceof Boolean) {\n" +
+			"\t\t\treturn (Boolean) value;\n" +
+			"\t\t}\n" +
+			"\t\tif (value instanceof Number) {\n" +
+			"\t\t\tdouble number = ((Number) value).doubleValue();\n" +
+			"\t\t\treturn number != 0 && !Double.isNaN(number);\n" +
+			"\t\t}\n" +
+			"\t\treturn !value.toString().isEmpty();\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static double toNumber(Object value) {\n" +
+			"\t\tif (value == null) {\n" +
+			"\t\t\treturn 0;\n" +
+			"\t\t}\n" +
+			"\t\tif (value instanceof Boolean) {\n" +
+			"\t\t\treturn (Boolean) value ? 1 : 0;\n" +
+			"\t\t}\n" +
+			"\t\tif (value instanceof Number) {\n" +
+			"\t\t\treturn ((Number) value).doubleValue();\n" +
+			"\t\t}\n" +
+			"\t\tString string = value.toString().trim();\n" +
+			"\t\tif (string.isEmpty()) {\n" +
+			"\t\t\treturn 0;\n" +
+			"\t\t}\n" +
+			"\t\tif (string.matches(\"" + escape(NUMBER_REGEX) + "\")) {\n" +
+			"\t\t\treturn Double.parseDouble(string);\n" +
+			"\t\t}\n" +
+			"\t\tif (string.matches(\"" + escape(HEX_NUMBER_REGEX) + "\")) {\n" +
+			"\t\t\treturn new java.math.BigInteger(string.substring(2), 16).doubleValue();\n" +
+			"\t\t}\n" +
+			"\t\tif (\"Infinity\".equals(string) || \"+Infinity\".equals(string)) {\n" +
+			"\t\t\treturn Double.POSITIVE_INFINITY;\n" +
+			"\t\t}\n" +
+			"\t\tif (\"-Infinity\".equals(string)) {\n" +
+			"\t\t\treturn Double.NEGATIVE_INFINITY;\n" +
+			"\t\t}\n" +
+			"\t\treturn Double.NaN;\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static boolean eq(Object value1, Object value2) {\n" +
+			"\t\tif (value1 == null || value2 == null) {\n" +
+			"\t\t\treturn value1 == value2;\n" +
+			"\t\t}\n" +
+			"\t\tif (value1 instanceof String && value2 instanceof String) {\n" +
+			"\t\t\treturn value1.equals(value2);\n" +
+			"\t\t}\n" +
+			"\t\tif (value1 instanceof Boolean && value2 instanceof Boolean) {\n" +
+			"\t\t\treturn value1.equals(value2);\n" +
+			"\t\t}\n" +
+			"\t\treturn toNumber(value1) == toNumber(value2);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static boolean strictEq(Object value1, Object value2) {\n" +
+			"\t\tif (value1 == null || value2 == null) {\n" +
+			"\t\t\treturn value1 == value2;\n" +
+			"\t\t}\n" +
+			"\t\tif (value1 instanceof Number && value2 instanceof Number) {\n" +
+			"\t\t\treturn ((Number) value1).doubleValue() == ((Number) value2).doubleValue();\n" +
+			"\t\t}\n" +
+			"\t\treturn value1.getClass() == value2.getClass() && value1.equals(value2);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static boolean lt(Object value1, Object value2) {\n" +
+			"\t\tif (value1 instanceof String && value2 instanceof String) {\n" +
+			"\t\t\treturn ((String) value1).compareTo((String) value2) < 0;\n" +
+			"\t\t}\n" +
+			"\t\treturn toNumber(value1) < toNumber(value2);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static boolean le(Object value1, Object value2) {\n" +
+			"\t\tif (value1 instanceof String && value2 instanceof String) {\n" +
+			"\t\t\treturn ((String) value1).compareTo((String) value2) <= 0;\n" +
+			"\t\t}\n" +
+			"\t\treturn toNumber(value1) <= toNumber(value2);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static Object add(Object value1, Object value2) {\n" +
+			"\t\tif (value1 instanceof String || value2 instanceof String) {\n" +
+			"\t\t\treturn toString(value1) + toString(value2);\n" +
+			"\t\t}\n" +
+			"\t\treturn toNumber(value1) + toNumber(value2);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static String toString(Object value) {\n" +
+			"\t\tif (value instanceof Number) {\n" +
+			"\t\t\tdouble number = ((Number) value).doubleValue();\n" +
+			"\t\t\tif (number == Math.rint(number) && Math.abs(number) < 1e21) {\n" +
+			"\t\t\t\treturn Long.toString((long) number);\n" +
+			"\t\t\t}\n" +
+			"\t\t\tif (Double.isNaN(number)) {\n" +
+			"\t\t\t\treturn \"NaN\";\n" +
+			"\t\t\t}\n" +
+			"\t\t\tif (Double.isInfinite(number)) {\n" +
+			"\t\t\t\treturn number > 0 ? \"Infinity\" : \"-Infinity\";\n" +
+			"\t\t\t}\n" +
+			"\t\t}\n" +
+			"\t\treturn String.valueOf(value);\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static Object or(Object value1, java.util.function.Supplier<Object> value2) {\n" +
+			"\t\treturn isTrue(value1) ? value1 : value2.get();\n" +
+			"\t}\n" +
+			"\n" +
+			"\tpublic static Object and(Object value1, java.util.function.Supplier<Object> value2) {\n" +
+			"\t\treturn isTrue(value1) ? value2.get() : value1;\n" +
+			"\t}\n";
+
+	private static String escape(String string) {
+		return string.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+}
@@ -0,0 +1,426 @@
+package org.verapdf.arlington;
+
+import java.util.*;
+
+/**
+ * Compiles JavaScript tests of profile rules into Java expressions over getters of model objects.
+ * Only tests consisting of properties, literals, parentheses, logical, equality, relational and arithmetic
+ * operators are compiled, for other tests (method calls, regular expressions, arrow functions) compile returns null.
+ */
+public class RuleTestCompiler {
+
+	private static final String OBJECT_VARIABLE = "object";
+
+	private final String test;
+	private final List<String> tokens = new ArrayList<>();
+	private int position = 0;
+
+	private RuleTestCompiler(String test) {
+		this.test = test;
+	}
+
+	/**
+	 * @return syntax tree of the test or null if the test is not supported
+	 */
+	public static Node compile(String test) {
+		RuleTestCompiler compiler = new RuleTestCompiler(test);
+		if (!compiler.tokenize()) {
+			return null;
+		}
+		Node node = compiler.parseOr();
+		if (node == null || compiler.position != compiler.tokens.size()) {
+			return null;
+		}
+		return node;
+	}
+
+	private boolean tokenize() {
+		int length = test.length();
+		int i = 0;
+		while (i < length) {
+			char c = test.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+			int start = i;
+			if (Character.isJavaIdentifierStart(c)) {
+				while (i < length && Character.isJavaIdentifierPart(test.charAt(i))) {
+					i++;
+				}
+			} else if (Character.isDigit(c) || (c == '.' && i + 1 < length && Character.isDigit(test.charAt(i + 1)))) {
+				while (i < length && (Character.isDigit(test.charAt(i)) || test.charAt(i) == '.')) {
+					i++;
+				}
+				if (i < length && (test.charAt(i) == 'e' || test.charAt(i) == 'E')) {
+					i++;
+					if (i < length && (test.charAt(i) == '+' || test.charAt(i) == '-')) {
+						i++;
+					}
+					while (i < length && Character.isDigit(test.charAt(i))) {
+						i++;
+					}
+				}
+				if (i < length && Character.isJavaIdentifierPart(test.charAt(i))) {
+					return false;
+				}
+			} else if (c == '\'' || c == '"') {
+				i++;
+				while (i < length && test.charAt(i) != c) {
+					if (test.charAt(i) == '\\') {
+						i++;
+					}
+					i++;
+				}
+				if (i >= length) {
+					return false;
+				}
+				i++;
+			} else if (test.startsWith("++", i) || test.startsWith("--", i)) {
+				return false;
+			} else if (test.startsWith("===", i) || test.startsWith("!==", i)) {
+				i += 3;
+			} else if (test.startsWith("==", i) || test.startsWith("!=", i) || test.startsWith("<=", i) ||
+					test.startsWith(">=", i) || test.startsWith("&&", i) || test.startsWith("||", i)) {
+				i += 2;
+			} else if ("!<>+-*/%()".indexOf(c) != -1) {
+				i++;
+			} else {
+				return false;
+			}
+			tokens.add(test.substring(start, i));
+		}
+		return true;
+	}
+
+	private String peek() {
+		return position < tokens.size() ? tokens.get(position) : null;
+	}
+
+	private boolean accept(String... operators) {
+		String token = peek();
+		for (String operator : operators) {
+			if (operator.equals(token)) {
+				position++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Node parseOr() {
+		Node node = parseAnd();
+		while (node != null && accept("||")) {
+			node = Node.binary("||", node, parseAnd());
+		}
+		return node;
+	}
+
+	private Node parseAnd() {
+		Node node = parseEquality();
+		while (node != null && accept("&&")) {
+			node = Node.binary("&&", node, parseEquality());
+		}
+		return node;
+	}
+
+	private Node parseEquality() {
+		Node node = parseRelational();
+		while (node != null && accept("==", "!=", "===", "!==")) {
+			node = Node.binary(tokens.get(position - 1), node, parseRelational());
+		}
+		return node;
+	}
+
+	private Node parseRelational() {
+		Node node = parseAdditive();
+		while (node != null && accept("<", "<=", ">", ">=")) {
+			node = Node.binary(tokens.get(position - 1), node, parseAdditive());
+		}
+		return node;
+	}
+
+	private Node parseAdditive() {
+		Node node = parseMultiplicative();
+		while (node != null && accept("+", "-")) {
+			node = Node.binary(tokens.get(position - 1), node, parseMultiplicative());
+		}
+		return node;
+	}
+
+	private Node parseMultiplicative() {
+		Node node = parseUnary();
+		while (node != null && accept("*", "/", "%")) {
+			node = Node.binary(tokens.get(position - 1), node, parseUnary());
+		}
+		return node;
+	}
+
+	private Node parseUnary() {
+		if (accept("!", "-")) {
+			String operator = tokens.get(position - 1);
+			Node operand = parseUnary();
+			return operand != null ? new Node(operator, null, null, operand) : null;
+		}
+		return parsePrimary();
+	}
+
+	private Node parsePrimary() {
+		String token = peek();
+		if (token == null) {
+			return null;
+		}
+		position++;
+		if ("(".equals(token)) {
+			Node node = parseOr();
+			return node != null && accept(")") ? node : null;
+		}
+		char c = token.charAt(0);
+		if (c == '\'' || c == '"') {
+			String value = unescape(token.substring(1, token.length() - 1));
+			return value != null ? Node.literal(value) : null;
+		}
+		if (Character.isDigit(c) || c == '.') {
+			try {
+				return Node.literal(Double.parseDouble(token));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		if (Character.isJavaIdentifierStart(c)) {
+			switch (token) {
+				case Constants.TRUE:
+					return Node.literal(Boolean.TRUE);
+				case Constants.FALSE:
+					return Node.literal(Boolean.FALSE);
+				case "null":
+					return Node.literal(null);
+				case "undefined":
+				case "NaN":
+				case "Infinity":
+				case "this":
+				case "elem":
+					return null;
+				default:
+					return new Node(null, token, null, null);
+			}
+		}
+		return null;
+	}
+
+	private static String unescape(String string) {
+		StringBuilder result = new StringBuilder();
+		for (int i = 0; i < string.length(); i++) {
+			char c = string.charAt(i);
+			if (c != '\\') {
+				result.append(c);
+				continue;
+			}
+			i++;
+			switch (string.charAt(i)) {
+				case '\\':
+				case '\'':
+				case '"':
+					result.append(string.charAt(i));
+					break;
+				case 'n':
+					result.append('\n');
+					break;
+				case 't':
+					result.append('\t');
+					break;
+				default:
+					return null;
+			}
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Node of the test syntax tree: literal, property, unary operator or binary operator.
+	 */
+	public static class Node {
+
+		private static final java.lang.Object NO_VALUE = new java.lang.Object();
+
+		private final String operator;
+		private final String propertyName;
+		private final Node left;
+		private final Node right;
+		private final java.lang.Object value;
+
+		private Node(String operator, String propertyName, Node left, Node right) {
+			this(operator, propertyName, left, right, NO_VALUE);
+		}
+
+		private Node(String operator, String propertyName, Node left, Node right, java.lang.Object value) {
+			this.operator = operator;
+			this.propertyName = propertyName;
+			this.left = left;
+			this.right = right;
+			this.value = value;
+		}
+
+		private static Node literal(java.lang.Object value) {
+			return new Node(null, null, null, null, value);
+		}
+
+		private static Node binary(String operator, Node left, Node right) {
+			return right != null ? new Node(operator, null, left, right) : null;
+		}
+
+		public Set<String> getPropertyNames() {
+			Set<String> result = new TreeSet<>();
+			addPropertyNames(result);
+			return result;
+		}
+
+		public List<java.lang.Object> getLiterals() {
+			List<java.lang.Object> result = new ArrayList<>();
+			addLiterals(result);
+			return result;
+		}
+
+		private void addLiterals(List<java.lang.Object> literals) {
+			if (value != NO_VALUE) {
+				literals.add(value);
+			}
+			if (left != null) {
+				left.addLiterals(literals);
+			}
+			if (right != null) {
+				right.addLiterals(literals);
+			}
+		}
+
+		private void addPropertyNames(Set<String> propertyNames) {
+			if (propertyName != null) {
+				propertyNames.add(propertyName);
+			}
+			if (left != null) {
+				left.addPropertyNames(propertyNames);
+			}
+			if (right != null) {
+				right.addPropertyNames(propertyNames);
+			}
+		}
+
+		/**
+		 * @return whether the value of the node is always boolean
+		 */
+		private boolean isBoolean() {
+			if (value != NO_VALUE) {
+				return value instanceof Boolean;
+			}
+			if (operator == null) {
+				return false;
+			}
+			switch (operator) {
+				case "!":
+				case "==":
+				case "!=":
+				case "===":
+				case "!==":
+				case "<":
+				case "<=":
+				case ">":
+				case ">=":
+					return true;
+				case "&&":
+				case "||":
+					return left.isBoolean() && right.isBoolean();
+				default:
+					return false;
+			}
+		}
+
+		/**
+		 * @return java expression of type boolean
+		 */
+		public String toJavaBoolean() {
+			if (isBoolean()) {
+				return toJava();
+			}
+			return "isTrue(" + toJava() + ")";
+		}
+
+		/**
+		 * @return java expression, which type is boolean if isBoolean, Object otherwise
+		 */
+		public String toJava() {
+			if (value != NO_VALUE) {
+				return getJavaLiteral(value);
+			}
+			if (propertyName != null) {
+				return OBJECT_VARIABLE + "." + JavaGeneration.getGetterName(propertyName) + "()";
+			}
+			switch (operator) {
+				case "!":
+					return "!" + right.toJavaBoolean();
+				case "-":
+					if (left == null) {
+						return "(Object) (-toNumber(" + right.toJava() + "))";
+					}
+					return "(Object) (toNumber(" + left.toJava() + ") - toNumber(" + right.toJava() + "))";
+				case "&&":
+				case "||":
+					if (isBoolean()) {
+						return "(" + left.toJava() + " " + operator + " " + right.toJava() + ")";
+					}
+					return ("&&".equals(operator) ? "and(" : "or(") + left.toJava() + ", () -> " + right.toJava() + ")";
+				case "==":
+					return "eq(" + left.toJava() + ", " + right.toJava() + ")";
+				case "!=":
+					return "!eq(" + left.toJava() + ", " + right.toJava() + ")";
+				case "===":
+					return "strictEq(" + left.toJava() + ", " + right.toJava() + ")";
+				case "!==":
+					return "!strictEq(" + left.toJava() + ", " + right.toJava() + ")";
+				case "<":
+					return "lt(" + left.toJava() + ", " + right.toJava() + ")";
+				case "<=":
+					return "le(" + left.toJava() + ", " + right.toJava() + ")";
+				case ">":
+					return "lt(" + right.toJava() + ", " + left.toJava() + ")";
+				case ">=":
+					return "le(" + right.toJava() + ", " + left.toJava() + ")";
+				case "+":
+					return "add(" + left.toJava() + ", " + right.toJava() + ")";
+				default:
+					return "(Object) (toNumber(" + left.toJava() + ") " + operator + " toNumber(" + right.toJava() + "))";
+			}
+		}
+
+		private static String getJavaLiteral(java.lang.Object value) {
+			if (value == null) {
+				return "null";
+			}
+			if (value instanceof Boolean) {
+				return value.toString();
+			}
+			if (value instanceof Double) {
+				return "(Object) " + value + "d";
+			}
+			StringBuilder result = new StringBuilder("\"");
+			for (char c : value.toString().toCharArray()) {
+				switch (c) {
+					case '"':
+						result.append("\\\"");
+						break;
+					case '\\':
+						result.append("\\\\");
+						break;
+					case '\n':
+						result.append("\\n");
+						break;
+					case '\t':
+						result.append("\\t");
+						break;
+					default:
+						result.append(c);
+				}
+			}
+			return result.append("\"").toString();
+		}
+	}
+}
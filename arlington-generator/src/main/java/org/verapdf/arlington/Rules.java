@@ -92,37 +92,41 @@ public class Rules {
 
 	static void addRules(MultiObject multiObject) {
 		for (PDFVersion version : PDFVersion.values()) {
-			Object object = version.getObjectIdMap().get(multiObject.getId());
-			if (object == null || !Main.getActiveObjectNames().get(version).contains(multiObject.getId())) {
+			addRules(version, multiObject);
+		}
+	}
+
+	static void addRules(PDFVersion version, MultiObject multiObject) {
+		Object object = version.getObjectIdMap().get(multiObject.getId());
+		if (object == null || !Main.getActiveObjectNames().get(version).contains(multiObject.getId())) {
+			return;
+		}
+		if (object.isArray()) {
+			addRuleAboutArraySize(version, object);
+		}
+		if (!object.isEntry() && !object.isArray()) {
+			containsExtraEntries(version, object);
+			containsFutureEntries(version, object);
+		}
+		for (Entry entry : object.getEntries()) {
+			if (entry.getName().endsWith(Constants.TREE_NODE)) {
 				continue;
 			}
-			if (object.isArray()) {
-				addRuleAboutArraySize(version, object);
+			checkLinks(version, object, entry);
+			if (entry.isStar() || entry.isNumberWithStar()) {
+				continue;
 			}
-			if (!object.isEntry() && !object.isArray()) {
-				containsExtraEntries(version, object);
-				containsFutureEntries(version, object);
+			hasWrongType(version, object, entry);
+			typesPredicates(version, object, entry);
+			requiredEntry(version, object, entry);
+			checkSince(version, object, entry);
+			if (!object.isArray()) {
+				deprecatedEntry(version, object, entry);
 			}
-			for (Entry entry : object.getEntries()) {
-				if (entry.getName().endsWith(Constants.TREE_NODE)) {
-					continue;
-				}
-				checkLinks(version, object, entry);
-				if (entry.isStar() || entry.isNumberWithStar()) {
-					continue;
-				}
-				hasWrongType(version, object, entry);
-				typesPredicates(version, object, entry);
-				requiredEntry(version, object, entry);
-				checkSince(version, object, entry);
-				if (!object.isArray()) {
-					deprecatedEntry(version, object, entry);
-				}
-				for (Type type : entry.getUniqActiveTypes()) {
-					indirectAndDirect(version, object, entry, type);
-					possibleValuesOfEntry(version, object, entry, type);
-					checkSpecialCase(version, object, entry, type);
-				}
+			for (Type type : entry.getUniqActiveTypes()) {
+				indirectAndDirect(version, object, entry, type);
+				possibleValuesOfEntry(version, object, entry, type);
+				checkSpecialCase(version, object, entry, type);
 			}
 		}
 	}
@@ -216,12 +220,9 @@ public class Rules {
 		if (Constants.DOCUMENT.equals(object.getId()) || Constants.STREAM.equals(object.getId())) {
 			return;
 		}
-		if (object.getEntries().stream().noneMatch(Entry::isStar)) {
-			StringBuilder test = new StringBuilder();
-			StringBuilder errorArgument = new StringBuilder();
+		if (object.getEntry(Constants.STAR) == null) {
 			StringBuilder keysString = new StringBuilder();
-			errorArgument.append(Constants.KEYS_STRING + ".split('&').filter(elem => ");
-			List<String> entries = new LinkedList<>();
+			Set<String> entries = new TreeSet<>();
 			Set<String> entryNamesSet = object.getEntriesNames();
 			if (Constants.FILE_TRAILER.equals(object.getId())) {
 				entryNamesSet.remove(Constants.XREF_STREAM);
@@ -238,26 +239,17 @@ public class Rules {
 				if (entryNamesSet.contains(entryName)) {
 					keysString.append(entryName).append(", ");
 				}
-				entries.add("'" + entryName + "'");
-				errorArgument.append("elem != '").append(entryName).append("' && ");
+				entries.add(entryName);
 			}
 			if (!keysString.toString().isEmpty()) {
-				test.append(Constants.KEYS_STRING + " == '' || ");
-				test.append(ProfileGeneration.split(Constants.KEYS_STRING, false, entries));
-				test.delete(test.length() - 8, test.length());
-				errorArgument.delete(errorArgument.length() - 4, errorArgument.length());
-				String checkSecondAndThirdClassNames = " && /" + Constants.SECOND_OR_THIRD_CLASS_NAME_REGEX + "/.test(elem) == false";
-				test.append(checkSecondAndThirdClassNames);
-				errorArgument.append(checkSecondAndThirdClassNames);
-				test.append(").length");
-				test.append(" == 0");
 				keysString.deleteCharAt(keysString.length() - 1);
 				keysString.deleteCharAt(keysString.length() - 1);
-				errorArgument.append(").toString()");
-				ProfileGeneration.writeRule(version, 1, object.getModelType(), getClause(object), test.toString(),
+				object.getExtraKeysProperties().put(Constants.EXTRA_KEYS, entries);
+				ProfileGeneration.writeRule(version, 1, object.getModelType(), getClause(object),
+						Constants.EXTRA_KEYS + " == ''",
 						String.format(EXTRA_ENTRIES_DESCRIPTION, object.getId(), keysString),
 						String.format(EXTRA_ENTRIES_ERROR_MESSAGE, object.getId(), "%1"),
-						errorArgument.toString());
+						Constants.EXTRA_KEYS);
 			}
 		}
 	}
@@ -270,41 +262,35 @@ public class Rules {
 			documentContainsFutureObjects(version, object);
 			return;
 		}
-		if (object.getEntries().stream().noneMatch(Entry::isStar)) {
-			StringBuilder test = new StringBuilder();
-			StringBuilder errorArgument = new StringBuilder();
+		if (object.getEntry(Constants.STAR) == null) {
 			StringBuilder keysString = new StringBuilder();
-			errorArgument.append(Constants.KEYS_STRING + ".split('&').filter(elem => ");
-			List<String> entries = new LinkedList<>();
-			Set<String> entryNamesSet = object.getEntriesNames();
+			Set<String> entries = new TreeSet<>();
 			for (String entryName : object.getMultiObject().getEntriesNames()) {
 				if ((Constants.FILE_TRAILER.equals(object.getId()) && Constants.XREF_STREAM.equals(entryName)) ||
 						(Constants.DOCUMENT.equals(object.getId()) && (Constants.LINEARIZATION_PARAMETER_DICTIONARY.equals(entryName) || 
 								Constants.OBJECT_STREAMS.equals(entryName))) || entryName.endsWith(Constants.TREE_NODE)) {
 					continue;
 				}
-				if (!entryNamesSet.contains(entryName)) {
+				if (object.getEntry(entryName) == null) {
 					keysString.append(entryName).append(", ");
-					entries.add("'" + entryName + "'");
-					errorArgument.append("elem == '").append(entryName).append("' || ");
+					entries.add(entryName);
 				}
 			}
 			if (!keysString.toString().isEmpty()) {
-				test.append(Constants.KEYS_STRING + " == '' || ");
-				test.append(ProfileGeneration.split(Constants.KEYS_STRING, true, entries)).append(" == 0");
 				keysString.deleteCharAt(keysString.length() - 1);
 				keysString.deleteCharAt(keysString.length() - 1);
 				if (entries.size() != 1) {
-					errorArgument.delete(errorArgument.length() - 4, errorArgument.length());
-					errorArgument.append(").toString()");
-					ProfileGeneration.writeRule(version, 22, object.getModelType(), getClause(object), test.toString(),
+					String propertyName = Object.getFutureKeysPropertyName(version);
+					object.getFutureKeysProperties().put(propertyName, entries);
+					ProfileGeneration.writeRule(version, 22, object.getModelType(), getClause(object),
+							propertyName + " == ''",
 							String.format(FUTURE_ENTRIES_DESCRIPTION, object.getId(), keysString, version.getString()),
 							String.format(FUTURE_ENTRIES_ERROR_MESSAGE, object.getId(), "%1"),
-							errorArgument.toString());
+							propertyName);
 				} else {
-					String entryName = PredicatesParser.removeQuotes(entries.get(0));
-					test = new StringBuilder(Entry.getContainsPropertyName(entryName) + " == " + Constants.FALSE);
-					ProfileGeneration.writeRule(version, 22, object.getModelType(), getClause(object), test.toString(),
+					String entryName = entries.iterator().next();
+					ProfileGeneration.writeRule(version, 22, object.getModelType(), getClause(object),
+							Entry.getContainsPropertyName(entryName) + " == " + Constants.FALSE,
 							String.format(FUTURE_ENTRY_DESCRIPTION, object.getId(), keysString, version.getString()),
 							String.format(FUTURE_ENTRY_ERROR_MESSAGE, object.getId(), entryName));
 				}
@@ -315,7 +301,7 @@ public class Rules {
 	private static void documentContainsFutureObjects(PDFVersion version, Object object) {
 		Object multiObject = object.getMultiObject();
 		for (Entry entry : multiObject.getEntries()) {
-			if (!object.getEntriesNames().contains(entry.getName())) {
+			if (object.getEntry(entry.getName()) == null) {
 				StringBuilder test = new StringBuilder();
 				entry.setContainsProperty(true);
 				test.append(Entry.getContainsPropertyName(entry.getName())).append(" == false");
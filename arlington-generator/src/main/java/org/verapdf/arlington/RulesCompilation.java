@@ -0,0 +1,84 @@
+package org.verapdf.arlington;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+
+/**
+ * Java backend of profile rules (-Darlington.rules.java=true). Tests of rules supported by RuleTestCompiler
+ * are generated as static methods of GFARules class and the companion profiles ARLINGTON<x>-<y>-java.xml
+ * reference these methods instead of JavaScript tests. Other rules are copied to companion profiles unchanged.
+ */
+public class RulesCompilation {
+
+	public static final boolean ENABLED = Boolean.getBoolean("arlington.rules.java");
+
+	private static final String CLASS_NAME = "GFARules";
+
+	private static final Map<PDFVersion, PrintWriter> profileWriters = new EnumMap<>(PDFVersion.class);
+	private static final Map<PDFVersion, StringBuilder> methods = new EnumMap<>(PDFVersion.class);
+	private static final Map<PDFVersion, Integer> methodsNumbers = new EnumMap<>(PDFVersion.class);
+
+	static {
+		if (ENABLED) {
+			for (PDFVersion version : PDFVersion.values()) {
+				try {
+					profileWriters.put(version, OutputCache.getWriter("ARLINGTON" + version.getVersion() + "-" +
+							version.getSubversion() + "-java.xml"));
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+				methods.put(version, new StringBuilder());
+				methodsNumbers.put(version, 0);
+			}
+		}
+	}
+
+	public static PrintWriter getProfileWriter(PDFVersion version) {
+		return profileWriters.get(version);
+	}
+
+	/**
+	 * @return test of the companion profile rule, which is a call of the generated method if the test is compiled
+	 */
+	public static String compileRule(PDFVersion version, String object, String test) {
+		RuleTestCompiler.Node node = RuleTestCompiler.compile(test);
+		if (node == null) {
+			return test;
+		}
+		int methodNumber = methodsNumbers.get(version);
+		methodsNumbers.put(version, methodNumber + 1);
+		String methodName = "test" + version.getStringWithUnderScore() + "_" + methodNumber;
+		methods.get(version).append(getMethod(methodName, object, test, node));
+		return CLASS_NAME + "." + methodName + "(this)";
+	}
+
+	/**
+	 * @return source of the GFARules method evaluating compiled test for the object of the given type
+	 */
+	public static String getMethod(String methodName, String object, String test, RuleTestCompiler.Node node) {
+		return "\t//" + test.replace("\\", "\\\\").replace('\n', ' ') + "\n" +
+				"\tpublic static boolean " + methodName + "(" + object + " object) {\n" +
+				"\t\treturn " + node.toJavaBoolean() + ";\n" +
+				"\t}\n\n";
+	}
+
+	public static void writeRulesClass(String folder) throws IOException {
+		if (!ENABLED) {
+			return;
+		}
+		try (PrintWriter writer = OutputCache.getWriter(folder + CLASS_NAME + ".java")) {
+			Main.addPackage(writer, "org.verapdf.gf.model.impl.arlington");
+			writer.println();
+			Main.addImport(writer, "org.verapdf.model.alayer.*");
+			writer.println();
+			writer.println("public class " + CLASS_NAME + " {");
+			writer.println();
+			writer.println(RuleFunctions.SOURCE);
+			for (PDFVersion version : PDFVersion.values()) {
+				writer.print(methods.get(version));
+			}
+			writer.println("}");
+		}
+	}
+}
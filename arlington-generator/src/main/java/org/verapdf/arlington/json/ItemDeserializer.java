@@ -15,12 +15,12 @@ import java.util.List;
 
 public class ItemDeserializer extends StdDeserializer<JSONValue> {
 
-	private static final String TYPE = "type";
-	private static final String VALUE = "value";
-	private static final String FUNCTION_NAME = "FUNC_NAME";
-	private static final String KEY_VALUE = "KEY_VALUE";
-	private static final String KEY_PATH = "KEY_PATH";
-	private static final String PDF_PATH = "PDF_PATH";
+	static final String TYPE = "type";
+	static final String VALUE = "value";
+	static final String FUNCTION_NAME = "FUNC_NAME";
+	static final String KEY_VALUE = "KEY_VALUE";
+	static final String KEY_PATH = "KEY_PATH";
+	static final String PDF_PATH = "PDF_PATH";
 
 	public ItemDeserializer() {
 		this(null);
@@ -176,7 +176,7 @@ public class ItemDeserializer extends StdDeserializer<JSONValue> {
 		return stringBuilder.toString();
 	}
 
-	private static void removeTrailingSpace(StringBuilder stringBuilder) {
+	static void removeTrailingSpace(StringBuilder stringBuilder) {
 		if (stringBuilder.length() > 0 && stringBuilder.toString().charAt(stringBuilder.length() - 1) == ' ') {
 			stringBuilder.deleteCharAt(stringBuilder.length() - 1);
 		}
@@ -0,0 +1,330 @@
+package org.verapdf.arlington.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.verapdf.arlington.Constants;
+import org.verapdf.arlington.PredicatesParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * Token level reader of arlington json files. Produces the same JSONEntry/JSONValue objects
+ * as ObjectMapper with ItemDeserializer, but without building intermediate JsonNode trees.
+ */
+public class JSONModelReader {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+	private static final String NUMBER_KEY_VALUE_REGEX = "@" + Constants.NUMBER_REGEX;
+
+	public static Map<String, Map<String, JSONEntry>> read(Reader reader) throws IOException {
+		try (JsonParser parser = JSON_FACTORY.createParser(reader)) {
+			Map<String, Map<String, JSONEntry>> result = new HashMap<>();
+			expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String objectName = parser.getCurrentName();
+				result.put(objectName, readEntries(parser, parser.nextToken()));
+			}
+			return result;
+		}
+	}
+
+	private static Map<String, JSONEntry> readEntries(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		expect(parser, token, JsonToken.START_OBJECT);
+		Map<String, JSONEntry> entries = new LinkedHashMap<>();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String entryName = parser.getCurrentName();
+			entries.put(entryName, readEntry(parser, parser.nextToken()));
+		}
+		return entries;
+	}
+
+	private static JSONEntry readEntry(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		expect(parser, token, JsonToken.START_OBJECT);
+		JSONEntry entry = new JSONEntry();
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String propertyName = parser.getCurrentName();
+			token = parser.nextToken();
+			switch (propertyName) {
+				case "name":
+					entry.name = readString(parser, token);
+					break;
+				case "Type":
+					entry.types = readValueList(parser, token);
+					break;
+				case "Link":
+					entry.links = readValueLists(parser, token);
+					break;
+				case "IndirectReference":
+					entry.indirectReference = readValueList(parser, token);
+					break;
+				case "Inheritable":
+					entry.inheritable = readBoolean(parser, token);
+					break;
+				case "Note":
+					entry.note = readString(parser, token);
+					break;
+				case "PossibleValues":
+					entry.possibleValues = readValueLists(parser, token);
+					break;
+				case "Required":
+					entry.requiredList = readValueList(parser, token);
+					break;
+				case "SinceVersion":
+					entry.sinceVersion = readValue(parser, token);
+					break;
+				case "DeprecatedIn":
+					entry.deprecatedValue = readValue(parser, token);
+					break;
+				case "DefaultValue":
+					entry.defaultValue = readValueList(parser, token);
+					break;
+				case "SpecialCase":
+					entry.specialCases = readValueList(parser, token);
+					break;
+				default:
+					throw new JsonParseException(parser, "Unrecognized field \"" + propertyName + "\"");
+			}
+		}
+		return entry;
+	}
+
+	private static List<List<JSONValue>> readValueLists(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		List<List<JSONValue>> result = new ArrayList<>();
+		if (token != JsonToken.START_ARRAY) {
+			result.add(readValueList(parser, token));
+			return result;
+		}
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			result.add(readValueList(parser, token));
+		}
+		return result;
+	}
+
+	private static List<JSONValue> readValueList(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		List<JSONValue> result = new ArrayList<>();
+		if (token != JsonToken.START_ARRAY) {
+			result.add(readValue(parser, token));
+			return result;
+		}
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			result.add(readValue(parser, token));
+		}
+		return result;
+	}
+
+	private static JSONValue readValue(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case VALUE_NUMBER_FLOAT:
+				return new JSONValue(parser.getDoubleValue());
+			case VALUE_NUMBER_INT:
+				if (parser.getNumberType() == JsonParser.NumberType.INT) {
+					return new JSONValue(parser.getIntValue());
+				}
+				return new JSONValue(new ArrayList<>());
+			case VALUE_STRING:
+				return new JSONValue(parser.getText());
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+				return new JSONValue(parser.getBooleanValue());
+			case START_ARRAY:
+				ArrayValue arrayValue = readArray(parser, false);
+				if (arrayValue.isFunction) {
+					return new JSONValue(arrayValue.string.toString());
+				}
+				return new JSONValue(arrayValue.texts);
+			case START_OBJECT:
+				parser.skipChildren();
+				return null;
+			case VALUE_NULL:
+				return null;
+			default:
+				return new JSONValue(new ArrayList<>());
+		}
+	}
+
+	/**
+	 * Single pass equivalent of ItemDeserializer.isFunction and ItemDeserializer.getString.
+	 */
+	private static ArrayValue readArray(JsonParser parser, boolean isArguments) throws IOException {
+		ArrayValue result = new ArrayValue();
+		StringBuilder stringBuilder = result.string;
+		int size = 0;
+		boolean firstChildIsFunctionName = false;
+		boolean secondChildIsArray = false;
+		boolean previousChildIsFunction = false;
+		boolean previousChildIsToken = false;
+		boolean previousChildIsPath = false;
+		boolean previousChildIsValue = false;
+		boolean previousChildIsNumberKeyValue = false;
+		boolean addSpace = false;
+		JsonToken token;
+		while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+			if (addSpace) {
+				stringBuilder.append(" ");
+				addSpace = false;
+			}
+			boolean isFunction = false;
+			boolean isToken = false;
+			boolean isKeyPath = false;
+			boolean isNumberKeyValue = false;
+			boolean isValue = false;
+			String stringValue;
+			String text;
+			if (token == JsonToken.START_ARRAY) {
+				ArrayValue child = readArray(parser, previousChildIsFunction);
+				result.isFunction |= child.isFunction;
+				stringValue = child.string.toString();
+				text = "";
+				if (size == 1) {
+					secondChildIsArray = true;
+				}
+			} else if (token == JsonToken.START_OBJECT) {
+				String type = null;
+				String value = null;
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String fieldName = parser.getCurrentName();
+					String fieldText = getText(parser, parser.nextToken());
+					if (ItemDeserializer.TYPE.equals(fieldName)) {
+						type = fieldText;
+					} else if (ItemDeserializer.VALUE.equals(fieldName)) {
+						value = fieldText;
+					}
+				}
+				stringValue = value != null ? value : "";
+				text = "";
+				if (type != null) {
+					result.isFunction = true;
+					if (ItemDeserializer.FUNCTION_NAME.equals(type)) {
+						isFunction = true;
+					} else if (!ItemDeserializer.KEY_VALUE.equals(type)) {
+						isToken = true;
+					}
+					if (ItemDeserializer.KEY_VALUE.equals(type)) {
+						isValue = true;
+						if (value != null && value.matches(NUMBER_KEY_VALUE_REGEX)) {
+							isNumberKeyValue = true;
+						}
+					}
+					if (ItemDeserializer.KEY_PATH.equals(type) || ItemDeserializer.PDF_PATH.equals(type)) {
+						isKeyPath = true;
+					}
+				}
+				if (size == 0) {
+					firstChildIsFunctionName = ItemDeserializer.FUNCTION_NAME.equals(type);
+				}
+			} else {
+				text = getText(parser, token);
+				stringValue = text;
+				if (Constants.STAR.equals(text) && previousChildIsNumberKeyValue) {
+					ItemDeserializer.removeTrailingSpace(stringBuilder);
+				}
+			}
+			result.texts.add(text);
+			if (isArguments && (!isToken || (isKeyPath && previousChildIsValue)) && !previousChildIsToken && size != 0 &&
+					(!Constants.STAR.equals(text) || !previousChildIsNumberKeyValue)) {
+				ItemDeserializer.removeTrailingSpace(stringBuilder);
+				stringBuilder.append(", ");
+			}
+			boolean isOperator = PredicatesParser.isOperator(stringValue);
+			if (isOperator && (stringBuilder.length() == 0 || stringBuilder.charAt(stringBuilder.length() - 1) != ' ')) {
+				stringBuilder.append(" ");
+			}
+			stringBuilder.append(stringValue);
+			if (isOperator) {
+				stringBuilder.append(" ");
+			} else if (!isKeyPath && !previousChildIsPath && !isFunction) {
+				addSpace = true;
+			}
+			previousChildIsPath = isKeyPath;
+			previousChildIsNumberKeyValue = isNumberKeyValue;
+			previousChildIsValue = isValue;
+			previousChildIsFunction = isFunction;
+			previousChildIsToken = isToken;
+			size++;
+		}
+		boolean hasOneElement = isArguments || size < 2 || (size == 2 && firstChildIsFunctionName && secondChildIsArray);
+		if (!hasOneElement) {
+			stringBuilder.insert(0, "(");
+		}
+		if (isArguments || !hasOneElement) {
+			stringBuilder.append(")");
+		}
+		return result;
+	}
+
+	private static String getText(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case START_ARRAY:
+			case START_OBJECT:
+				parser.skipChildren();
+				return "";
+			case VALUE_NUMBER_FLOAT:
+				return Double.toString(parser.getDoubleValue());
+			case VALUE_NULL:
+				return "null";
+			default:
+				return parser.getText();
+		}
+	}
+
+	private static String readString(JsonParser parser, JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		if (!token.isScalarValue()) {
+			throw new JsonParseException(parser, "Unexpected token " + token);
+		}
+		return parser.getValueAsString();
+	}
+
+	private static Boolean readBoolean(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case VALUE_NULL:
+				return null;
+			case VALUE_TRUE:
+			case VALUE_FALSE:
+				return parser.getBooleanValue();
+			case VALUE_NUMBER_INT:
+				return parser.getIntValue() != 0;
+			case VALUE_STRING:
+				String text = parser.getText().trim();
+				if ("true".equalsIgnoreCase(text)) {
+					return Boolean.TRUE;
+				}
+				if ("false".equalsIgnoreCase(text)) {
+					return Boolean.FALSE;
+				}
+				return text.isEmpty() ? null : Boolean.FALSE;
+			default:
+				throw new JsonParseException(parser, "Unexpected token " + token);
+		}
+	}
+
+	private static void expect(JsonParser parser, JsonToken token, JsonToken expectedToken) throws IOException {
+		if (token != expectedToken) {
+			throw new JsonParseException(parser, "Expected " + expectedToken + " instead of " + token);
+		}
+	}
+
+	private static class ArrayValue {
+		private final StringBuilder string = new StringBuilder();
+		private final List<String> texts = new ArrayList<>();
+		private boolean isFunction = false;
+	}
+}
@@ -6,7 +6,8 @@ import java.util.*;
 
 public class LinkHelper {
 
-	public static final List<Map<String, LinkHelper>> helpersList = new LinkedList<>();
+	public static final List<Map<String, LinkHelper>> helpersList = new ArrayList<>();
+	private static volatile LinkHelpersIndex helpersIndex;
 
 	private final String objectName;
 
@@ -15,14 +16,22 @@ public class LinkHelper {
 	}
 
 	public static Map<String, LinkHelper> getMap(Set<String> values, List<Integer> oldMapsIndexes) {
-		for (int index = 0; index < helpersList.size(); index++) {
-			Map<String, LinkHelper> map = helpersList.get(index);
-			if (map.keySet().containsAll(values) && !oldMapsIndexes.contains(index)) {
-				oldMapsIndexes.add(index);
-				return map;
-			}
+		LinkHelpersIndex index = getHelpersIndex();
+		int mapIndex = index.getMapIndex(values, oldMapsIndexes);
+		if (mapIndex == -1) {
+			return null;
 		}
-		return null;
+		oldMapsIndexes.add(mapIndex);
+		return index.getMap(mapIndex);
+	}
+
+	private static LinkHelpersIndex getHelpersIndex() {
+		LinkHelpersIndex index = helpersIndex;
+		if (index == null || index.size() != helpersList.size()) {
+			index = new LinkHelpersIndex(helpersList);
+			helpersIndex = index;
+		}
+		return index;
 	}
 
 	public String getObjectName() {
@@ -0,0 +1,99 @@
+package org.verapdf.arlington.linkHelpers;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index of LinkHelper.helpersList from object names to indexes of helper maps containing them.
+ * Resolved map indexes are memoized by the set of links and the set of already used map indexes.
+ */
+class LinkHelpersIndex {
+
+	private static final int[] NO_INDEXES = new int[0];
+
+	private final List<Map<String, LinkHelper>> maps;
+	private final Map<String, int[]> mapIndexes = new HashMap<>();
+	private final Map<ResolutionKey, Integer> resolvedIndexes = new ConcurrentHashMap<>();
+
+	LinkHelpersIndex(List<Map<String, LinkHelper>> helpersList) {
+		this.maps = new ArrayList<>(helpersList);
+		Map<String, List<Integer>> indexes = new HashMap<>();
+		for (int index = 0; index < maps.size(); index++) {
+			for (String objectName : maps.get(index).keySet()) {
+				indexes.computeIfAbsent(objectName, k -> new ArrayList<>()).add(index);
+			}
+		}
+		for (Map.Entry<String, List<Integer>> entry : indexes.entrySet()) {
+			mapIndexes.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+	}
+
+	int size() {
+		return maps.size();
+	}
+
+	Map<String, LinkHelper> getMap(int index) {
+		return maps.get(index);
+	}
+
+	/**
+	 * @return index of the first helper map containing all values, which is not in excludedIndexes, or -1
+	 */
+	int getMapIndex(Set<String> values, Collection<Integer> excludedIndexes) {
+		return resolvedIndexes.computeIfAbsent(new ResolutionKey(values, excludedIndexes), this::findMapIndex);
+	}
+
+	private int findMapIndex(ResolutionKey key) {
+		if (key.values.isEmpty()) {
+			for (int index = 0; index < maps.size(); index++) {
+				if (!key.excludedIndexes.contains(index)) {
+					return index;
+				}
+			}
+			return -1;
+		}
+		int[] candidates = null;
+		for (String value : key.values) {
+			int[] indexes = mapIndexes.getOrDefault(value, NO_INDEXES);
+			if (candidates == null || indexes.length < candidates.length) {
+				candidates = indexes;
+			}
+		}
+		for (int index : candidates) {
+			if (!key.excludedIndexes.contains(index) && maps.get(index).keySet().containsAll(key.values)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private static class ResolutionKey {
+
+		private final Set<String> values;
+		private final Set<Integer> excludedIndexes;
+		private final int hashCode;
+
+		private ResolutionKey(Set<String> values, Collection<Integer> excludedIndexes) {
+			this.values = new HashSet<>(values);
+			this.excludedIndexes = new HashSet<>(excludedIndexes);
+			this.hashCode = Objects.hash(this.values, this.excludedIndexes);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof ResolutionKey)) {
+				return false;
+			}
+			ResolutionKey key = (ResolutionKey) o;
+			return values.equals(key.values) && excludedIndexes.equals(key.excludedIndexes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
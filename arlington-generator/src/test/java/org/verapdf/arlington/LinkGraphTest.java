@@ -0,0 +1,98 @@
+package org.verapdf.arlington;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Queries of LinkGraph over the synthetic graph
+ * Document -> A, A -> B, C, B -> A, C -> D, fn:SinceVersion(1.5,F), E -> C, D -> D.
+ */
+public class LinkGraphTest {
+
+	private static final LinkGraph GRAPH = createGraph();
+
+	private static LinkGraph createGraph() {
+		Map<String, Object> objectIdMap = new HashMap<>();
+		addObject(objectIdMap, Constants.DOCUMENT, "A");
+		addObject(objectIdMap, "A", "B", "C");
+		addObject(objectIdMap, "B", "A");
+		addObject(objectIdMap, "C", "D", "fn:SinceVersion(1.5,F)");
+		addObject(objectIdMap, "D", "D");
+		addObject(objectIdMap, "E", "C");
+		addObject(objectIdMap, "F");
+		return new LinkGraph(PDFVersion.VERSION2_0, objectIdMap, objectIdMap.keySet());
+	}
+
+	private static void addObject(Map<String, Object> objectIdMap, String objectName, String ... links) {
+		SortedSet<Entry> entries = new TreeSet<>();
+		for (int i = 0; i < links.length; i++) {
+			Entry entry = new Entry();
+			entry.setName("Entry" + i);
+			entry.getTypes().add(Type.DICTIONARY);
+			entry.getLinks().put(Type.DICTIONARY, Collections.singletonList(links[i]));
+			entries.add(entry);
+		}
+		objectIdMap.put(objectName, new Object(objectName, entries));
+	}
+
+	private static Set<String> setOf(String ... names) {
+		return new HashSet<>(Arrays.asList(names));
+	}
+
+	@Test
+	public void testChildren() {
+		assertEquals(setOf("B", "C"), GRAPH.getChildren("A"));
+		assertEquals(setOf("D", "F"), GRAPH.getChildren("C"));
+		assertEquals(setOf("D"), GRAPH.getChildren("D"));
+		assertEquals(Collections.emptySet(), GRAPH.getChildren("F"));
+		assertEquals(Collections.emptySet(), GRAPH.getChildren("Unknown"));
+	}
+
+	@Test
+	public void testParents() {
+		assertEquals(setOf(Constants.DOCUMENT, "B"), GRAPH.getParents("A"));
+		assertEquals(setOf("A", "E"), GRAPH.getParents("C"));
+		assertEquals(setOf("C", "D"), GRAPH.getParents("D"));
+		//links with predicates are not used for parents
+		assertEquals(Collections.emptySet(), GRAPH.getParents("F"));
+	}
+
+	@Test
+	public void testReachability() {
+		assertEquals(setOf(Constants.DOCUMENT, "A", "B", "C", "D", "F"), GRAPH.getActiveObjectNames());
+		assertEquals(setOf("C", "D", "F"), GRAPH.getReachableObjects("C"));
+		assertEquals(Collections.singleton("Unknown"), GRAPH.getReachableObjects("Unknown"));
+		assertTrue(GRAPH.isReachable("B", "F"));
+		assertTrue(GRAPH.isReachable("D", "D"));
+		assertFalse(GRAPH.isReachable(Constants.DOCUMENT, "E"));
+		assertFalse(GRAPH.isReachable("D", "C"));
+		assertTrue(GRAPH.isReachable("Unknown", "Unknown"));
+		assertFalse(GRAPH.isReachable("Unknown", "A"));
+	}
+
+	@Test
+	public void testStronglyConnectedComponents() {
+		List<Set<String>> components = GRAPH.getStronglyConnectedComponents();
+		assertEquals(GRAPH.size(), components.stream().mapToInt(Set::size).sum());
+		assertTrue(components.contains(setOf("A", "B")));
+		assertTrue(components.contains(setOf("D")));
+		assertTrue(components.contains(setOf(Constants.DOCUMENT)));
+		//reverse topological order: components are listed after components they link to
+		assertTrue(components.indexOf(setOf("D")) < components.indexOf(setOf("C")));
+		assertTrue(components.indexOf(setOf("C")) < components.indexOf(setOf("A", "B")));
+		assertTrue(components.indexOf(setOf("A", "B")) < components.indexOf(setOf(Constants.DOCUMENT)));
+	}
+
+	@Test
+	public void testIds() {
+		assertEquals(PDFVersion.VERSION2_0, GRAPH.getVersion());
+		assertEquals(7, GRAPH.size());
+		Integer id = GRAPH.getId("C");
+		assertNotNull(id);
+		assertEquals("C", GRAPH.getName(id));
+		assertNull(GRAPH.getId("Unknown"));
+	}
+}
@@ -0,0 +1,60 @@
+package org.verapdf.arlington;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.arlington.json.ModelPredicates;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenization of all predicates of the model by the former regex based splitting (regex), by PredicateTokenizer
+ * offsets (scan) and by PredicateTokenizer tokens (tokenize). Real model files are taken from modelDir parameter
+ * or -Darlington.model.dir, otherwise only the sample model is used.
+ * Run on the test classpath: java org.openjdk.jmh.Main PredicateTokenizerBenchmark -p modelDir=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateTokenizerBenchmark {
+
+	@Param("")
+	public String modelDir;
+
+	private List<String> predicates;
+
+	@Setup
+	public void setup() throws IOException {
+		predicates = ModelPredicates.getPredicates(modelDir.isEmpty() ? System.getProperty("arlington.model.dir") : modelDir);
+	}
+
+	@Benchmark
+	public int regex() {
+		int size = 0;
+		for (String predicate : predicates) {
+			size += PredicateTokenizerTest.regexTokenize(predicate).size();
+		}
+		return size;
+	}
+
+	@Benchmark
+	public int scan() {
+		int size = 0;
+		for (String predicate : predicates) {
+			size += PredicateTokenizer.scan(predicate).length;
+		}
+		return size;
+	}
+
+	@Benchmark
+	public int tokenize() {
+		int size = 0;
+		for (String predicate : predicates) {
+			size += PredicateTokenizer.tokenize(predicate).size();
+		}
+		return size;
+	}
+}
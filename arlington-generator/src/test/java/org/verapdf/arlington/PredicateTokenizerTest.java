@@ -0,0 +1,135 @@
+package org.verapdf.arlington;
+
+import org.junit.Test;
+import org.verapdf.arlington.json.ModelPredicates;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares PredicateTokenizer with the regex based splitting PredicatesParser used before it.
+ */
+public class PredicateTokenizerTest {
+
+	private static final String ENTRY_REGEX = "['A-Za-z//:.@\\*\\d\\-_]+";
+
+	/**
+	 * Former PredicatesParser.parseString tokenization, empty tokens were skipped by processToken
+	 */
+	public static List<String> regexTokenize(String str) {
+		List<String> tokens = new ArrayList<>();
+		StringBuilder currentString = new StringBuilder();
+		boolean flag = false;
+		for (int i = 0; i < str.length(); i++) {
+			switch (str.charAt(i)) {
+				case '(':
+				case ')':
+				case ',':
+					addToken(tokens, currentString.toString());
+					currentString = new StringBuilder();
+					addToken(tokens, String.valueOf(str.charAt(i)));
+					break;
+				case ' ':
+					addToken(tokens, currentString.toString());
+					currentString = new StringBuilder();
+					break;
+				default:
+					boolean newFlag = String.valueOf(str.charAt(i)).matches(ENTRY_REGEX);
+					if (currentString.length() > 0 && flag != newFlag) {
+						addToken(tokens, currentString.toString());
+						currentString = new StringBuilder();
+					}
+					currentString.append(str.charAt(i));
+					flag = newFlag;
+					break;
+			}
+		}
+		addToken(tokens, currentString.toString());
+		return tokens;
+	}
+
+	private static void addToken(List<String> tokens, String token) {
+		if (!token.isEmpty()) {
+			tokens.add(token);
+		}
+	}
+
+	private static void check(String predicate) {
+		List<String> tokens = PredicateTokenizer.tokenize(predicate);
+		assertEquals(predicate, regexTokenize(predicate), tokens);
+		int[] offsets = PredicateTokenizer.scan(predicate);
+		assertEquals(predicate, tokens.size() * 2, offsets.length);
+		for (int i = 0; i < tokens.size(); i++) {
+			assertEquals(predicate, tokens.get(i), predicate.substring(offsets[2 * i], offsets[2 * i + 1]));
+		}
+	}
+
+	@Test
+	public void testSeparators() {
+		check("fn:SinceVersion(1.4,AddActionCatalog)");
+		check("fn:MustBeDirect()");
+		check("((@Type==Catalog))");
+		check(",,(,)");
+		check("");
+	}
+
+	@Test
+	public void testSpaces() {
+		check("  @Type  ==   Catalog ");
+		check("fn:Eval( @PageMode == UseOC )");
+		check(" ");
+		check("\t@Type\t==\tCatalog");
+	}
+
+	@Test
+	public void testOperators() {
+		check("@Type==Catalog&&@Version!=1.4||@Pages>=2");
+		check("@Length mod 4 == 0");
+		check("@Length+2-1<=@Size");
+		check("-1.5 == @Value");
+	}
+
+	@Test
+	public void testKeyPaths() {
+		check("parent::parent::@Type==Catalog");
+		check("D::@Order != @1*");
+		check("fn:ArrayLength(@0*)>0");
+		check("fn:IsPresent(AP::N::*)");
+	}
+
+	@Test
+	public void testQuotedValues() {
+		check("@S=='Type0'");
+		check("fn:Contains(@Name,'Adobe Pi')");
+		check("@Subtype==\"Link\"");
+	}
+
+	@Test
+	public void testNonAscii() {
+		check("\u00c4\u00d6==\u00e9");
+		check("@Name==Gr\u00f6\u00dfe && fn:IsPresent(\u00dc)");
+		check("\u00a0@Type\u2028==\ud83d\ude00");
+	}
+
+	@Test
+	public void testRandom() {
+		char[] alphabet = "aZ09'/:.@*-_(),  =!<>&|+\"?[]{}\t\u00c4\u00e9\u00a0".toCharArray();
+		Random random = new Random(0);
+		for (int i = 0; i < 10000; i++) {
+			char[] predicate = new char[random.nextInt(20)];
+			for (int j = 0; j < predicate.length; j++) {
+				predicate[j] = alphabet[random.nextInt(alphabet.length)];
+			}
+			check(new String(predicate));
+		}
+	}
+
+	@Test
+	public void testModelPredicates() throws IOException {
+		for (String predicate : ModelPredicates.getPredicates(System.getProperty("arlington.model.dir"))) {
+			check(predicate);
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package org.verapdf.arlington;
+
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.arlington.json.ModelPredicates;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Parsing of all predicates of the model: building of a tree for every parsed predicate as every parser context did
+ * before (parse), taking trees from the cache (getTree) and lowering cached trees by PredicatesParser (lower).
+ * Real model files are taken from modelDir parameter or -Darlington.model.dir, otherwise only the sample model
+ * is used. Run on the test classpath: java org.openjdk.jmh.Main PredicateTreeBenchmark -p modelDir=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredicateTreeBenchmark {
+
+	@Param("")
+	public String modelDir;
+
+	private List<String> predicates;
+
+	@Setup
+	public void setup() throws IOException {
+		Main.LOGGER.setLevel(Level.OFF);
+		predicates = ModelPredicates.getPredicates(modelDir.isEmpty() ? System.getProperty("arlington.model.dir") : modelDir);
+	}
+
+	@Benchmark
+	public int parse() {
+		int size = 0;
+		for (String predicate : predicates) {
+			try {
+				size += PredicateTree.parse(predicate).getNodes().size();
+			} catch (RuntimeException e) {
+				size--;
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public int getTree() {
+		int size = 0;
+		for (String predicate : predicates) {
+			try {
+				size += PredicateTree.getTree(predicate).getNodes().size();
+			} catch (RuntimeException e) {
+				size--;
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public int lower() {
+		int size = 0;
+		for (String predicate : predicates) {
+			String result = new PredicatesParser().parse(predicate);
+			size += result != null ? result.length() : 0;
+		}
+		return size;
+	}
+}
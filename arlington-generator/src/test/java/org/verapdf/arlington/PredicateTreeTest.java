@@ -0,0 +1,55 @@
+package org.verapdf.arlington;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PredicateTreeTest {
+
+	@Test
+	public void testPrecedence() {
+		assertEquals("[((@Type == Catalog) && [((@Version != 1.4) || (@Pages > 2))])]",
+				PredicateTree.parse("@Type==Catalog && (@Version!=1.4 || @Pages>2)").getNodes().toString());
+		assertEquals("[(((@Type == Catalog) && (@Version != 1.4)) || (@Pages > 2))]",
+				PredicateTree.parse("@Type==Catalog && @Version!=1.4 || @Pages>2").getNodes().toString());
+		assertEquals("[(((@Length + 2) - 1) == (@Length mod 4))]",
+				PredicateTree.parse("@Length + 2 - 1 == @Length mod 4").getNodes().toString());
+	}
+
+	@Test
+	public void testCalls() {
+		assertEquals("[fn:Eval[(fn:Extension[ADBE_Extn3, 1.7] || [((@Type == Catalog) && fn:IsPresent[AA])])]]",
+				PredicateTree.parse("fn:Eval(fn:Extension(ADBE_Extn3,1.7) || (@Type==Catalog && fn:IsPresent(AA)))")
+						.getNodes().toString());
+		assertEquals("[fn:MustBeDirect[]]", PredicateTree.parse("fn:MustBeDirect()").getNodes().toString());
+		assertEquals("[(fn:ArrayLength[@0*] > 0)]", PredicateTree.parse("fn:ArrayLength(@0*)>0").getNodes().toString());
+		PredicateTree.Call call = (PredicateTree.Call) PredicateTree.parse("fn:SinceVersion(1.4,AddActionCatalog)").getNodes().get(0);
+		assertEquals("fn:SinceVersion", call.getFunctionName());
+		assertEquals(2, call.getArguments().size());
+	}
+
+	@Test
+	public void testOperands() {
+		assertEquals("[Catalog, @Version]", PredicateTree.parse("Catalog @Version").getNodes().toString());
+		assertEquals("[parent::@Type]", PredicateTree.parse("parent::@Type").getNodes().toString());
+	}
+
+	@Test
+	public void testInvalid() {
+		for (String predicate : new String[]{"(@Type==Catalog", "@Type==Catalog)", "==Catalog", "fn:Eval(@Version",
+				"fn:IsPDFTagged", "@Type==", ","}) {
+			try {
+				PredicateTree.parse(predicate);
+				fail(predicate);
+			} catch (RuntimeException e) {
+				//expected
+			}
+		}
+	}
+
+	@Test
+	public void testCache() {
+		String predicate = "fn:IsRequired(@PageMode==UseOC)";
+		assertSame(PredicateTree.getTree(predicate), PredicateTree.getTree(new String(predicate.toCharArray())));
+	}
+}
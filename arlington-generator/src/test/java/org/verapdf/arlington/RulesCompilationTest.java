@@ -0,0 +1,184 @@
+package org.verapdf.arlington;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.w3c.dom.NodeList;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeNotNull;
+
+/**
+ * Compiles GFARules methods generated for rule tests together with RuleFunctions.SOURCE and checks that they
+ * give the same verdicts as JavaScript tests for all or random combinations of property values. Tests are the
+ * hand-written TESTS and all compiled tests of profiles generated from the sample model
+ * with -Darlington.rules.java=true.
+ */
+public class RulesCompilationTest {
+
+	static {
+		System.setProperty("arlington.rules.java", "true");
+	}
+
+	private static final String CLASS_NAME = "GFARulesCheck";
+	private static final String OBJECT_CLASS_NAME = "CheckObject";
+	private static final int NUMBER_OF_CHECKS = 1024;
+	private static final List<java.lang.Object> CHECK_VALUES = Arrays.asList(null, true, false, 0L, 1L, 2L, -1L, 0.5, "", "0",
+			"1", "a");
+
+	private static final String[] TESTS = {
+			"containsType == false || entryTypeValue == 'Catalog'",
+			"isIndirect != true",
+			"Length >= 0 && Length <= 255",
+			"Size > 0 || Size === null",
+			"N % 2 == 0",
+			"(Count + 1) * 2 / 3 < 5",
+			"-Count <= 0",
+			"!isPresent",
+			"Name !== 'Type0'",
+			"gValue + 'x' == '1x'",
+			"value || other",
+			"value && !other",
+			"Size - 1 > 0.5",
+			"containsA == true && (A == 1 || A == 2.5 || A == \"two\")",
+			"1 == 1.0",
+			"'10' < '9'",
+			"Rotate % 90 == 0 && Rotate != 45",
+			"x == y",
+			"x === y",
+			"x < y || x >= y",
+			"!(x <= y) == (x > y)",
+	};
+
+	private static ScriptEngine engine;
+	private static final Set<String> tests = new LinkedHashSet<>(Arrays.asList(TESTS));
+	private static final Map<String, RuleTestCompiler.Node> nodes = new LinkedHashMap<>();
+	private static final Map<String, Method> methods = new HashMap<>();
+	private static Class<?> objectClass;
+
+	@BeforeClass
+	public static void compile() throws Exception {
+		engine = new ScriptEngineManager().getEngineByName("javascript");
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(engine, compiler);
+		int numberOfTests = tests.size();
+		tests.addAll(getGeneratedTests());
+		assertTrue("No tests are compiled for the sample model", tests.size() > numberOfTests);
+		Set<String> propertyNames = new TreeSet<>();
+		StringBuilder rulesClass = new StringBuilder("public class " + CLASS_NAME + " {\n\n");
+		rulesClass.append(RuleFunctions.SOURCE).append("\n");
+		List<String> testsList = new ArrayList<>(tests);
+		for (int i = 0; i < testsList.size(); i++) {
+			String test = testsList.get(i);
+			RuleTestCompiler.Node node = RuleTestCompiler.compile(test);
+			assertNotNull(test, node);
+			nodes.put(test, node);
+			propertyNames.addAll(node.getPropertyNames());
+			rulesClass.append(RulesCompilation.getMethod("test" + i, OBJECT_CLASS_NAME, test, node));
+		}
+		rulesClass.append("}\n");
+		StringBuilder objectClassSource = new StringBuilder("public interface " + OBJECT_CLASS_NAME + " {\n");
+		for (String propertyName : propertyNames) {
+			objectClassSource.append("\tObject ").append(JavaGeneration.getGetterName(propertyName)).append("();\n");
+		}
+		objectClassSource.append("}\n");
+		File folder = Files.createTempDirectory("rules").toFile();
+		File rulesFile = write(folder, CLASS_NAME, rulesClass.toString());
+		File objectFile = write(folder, OBJECT_CLASS_NAME, objectClassSource.toString());
+		assertEquals(rulesClass.toString(), 0, compiler.run(null, null, null, "-d", folder.getPath(),
+				rulesFile.getPath(), objectFile.getPath()));
+		ClassLoader classLoader = new URLClassLoader(new URL[]{folder.toURI().toURL()},
+				RulesCompilationTest.class.getClassLoader());
+		objectClass = classLoader.loadClass(OBJECT_CLASS_NAME);
+		Class<?> rulesClassObject = classLoader.loadClass(CLASS_NAME);
+		for (int i = 0; i < testsList.size(); i++) {
+			methods.put(testsList.get(i), rulesClassObject.getMethod("test" + i, objectClass));
+		}
+	}
+
+	/**
+	 * Runs the generator on the sample model in the working directory.
+	 * @return tests of generated profiles, which are compiled by RulesCompilation.compileRule
+	 */
+	private static Set<String> getGeneratedTests() throws Exception {
+		for (PDFVersion version : PDFVersion.values()) {
+			try (InputStream stream = RulesCompilationTest.class.getResourceAsStream("/arlington-model-sample.json")) {
+				assertNotNull(stream);
+				Files.copy(stream, Paths.get("arlington" + version.getString() + ".json"),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		Files.createDirectories(Paths.get("result_model"));
+		Files.createDirectories(Paths.get("result_validation"));
+		Main.main(new String[0]);
+		Set<String> result = new LinkedHashSet<>();
+		for (PDFVersion version : PDFVersion.values()) {
+			NodeList testElements = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+					.parse(new File("ARLINGTON" + version.getVersion() + "-" + version.getSubversion() + ".xml"))
+					.getElementsByTagName("test");
+			for (int i = 0; i < testElements.getLength(); i++) {
+				String test = testElements.item(i).getTextContent();
+				if (RuleTestCompiler.compile(test) != null) {
+					result.add(test);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static File write(File folder, String className, String source) throws IOException {
+		File file = new File(folder, className + ".java");
+		Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	public void testSameVerdicts() throws Exception {
+		for (Map.Entry<String, RuleTestCompiler.Node> entry : nodes.entrySet()) {
+			String test = entry.getKey();
+			CompiledScript script = ((Compilable) engine).compile("!!(" + test + ")");
+			List<String> propertyNames = new ArrayList<>(entry.getValue().getPropertyNames());
+			List<java.lang.Object> values = new ArrayList<>(CHECK_VALUES);
+			values.addAll(entry.getValue().getLiterals());
+			//all combinations of values for tests with few properties, random ones otherwise
+			int numberOfChecks = (int) Math.min(Math.pow(values.size(), propertyNames.size()), NUMBER_OF_CHECKS);
+			boolean isRandom = numberOfChecks == NUMBER_OF_CHECKS;
+			Random random = new Random(test.hashCode());
+			for (int i = 0; i < numberOfChecks; i++) {
+				Map<String, java.lang.Object> properties = new HashMap<>();
+				Bindings bindings = engine.createBindings();
+				int index = i;
+				for (String propertyName : propertyNames) {
+					java.lang.Object value = values.get(isRandom ? random.nextInt(values.size()) : index % values.size());
+					index /= values.size();
+					properties.put(JavaGeneration.getGetterName(propertyName), value);
+					bindings.put(propertyName, value instanceof Number ? ((Number) value).doubleValue() : value);
+				}
+				java.lang.Object object = Proxy.newProxyInstance(objectClass.getClassLoader(), new Class<?>[]{objectClass},
+						(proxy, method, arguments) -> properties.get(method.getName()));
+				boolean javaResult = (Boolean) methods.get(test).invoke(null, object);
+				assertEquals(test + " " + properties, Boolean.TRUE.equals(script.eval(bindings)), javaResult);
+			}
+		}
+	}
+}
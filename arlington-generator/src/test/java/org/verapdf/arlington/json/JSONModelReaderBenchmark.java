@@ -0,0 +1,57 @@
+package org.verapdf.arlington.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading of arlington json files by ObjectMapper with ItemDeserializer (tree) and by JSONModelReader (stream).
+ * Real model files are taken from modelDir parameter or -Darlington.model.dir, otherwise only the sample model
+ * is read. Run on the test classpath: java org.openjdk.jmh.Main JSONModelReaderBenchmark -p modelDir=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSONModelReaderBenchmark {
+
+	@Param("")
+	public String modelDir;
+
+	private final List<byte[]> contents = new ArrayList<>();
+	private ObjectMapper objectMapper;
+
+	@Setup
+	public void setup() throws IOException {
+		contents.addAll(JSONModelReaderTest.getModelFiles(modelDir.isEmpty() ?
+				System.getProperty("arlington.model.dir") : modelDir).values());
+		objectMapper = JSONModelReaderTest.createObjectMapper();
+	}
+
+	@Benchmark
+	public int tree() throws IOException {
+		int size = 0;
+		for (byte[] content : contents) {
+			Map<String, Map<String, JSONEntry>> map = JSONModelReaderTest.readTree(objectMapper, content);
+			size += map.size();
+		}
+		return size;
+	}
+
+	@Benchmark
+	public int stream() throws IOException {
+		int size = 0;
+		for (byte[] content : contents) {
+			Map<String, Map<String, JSONEntry>> map = JSONModelReaderTest.readStream(content);
+			size += map.size();
+		}
+		return size;
+	}
+}
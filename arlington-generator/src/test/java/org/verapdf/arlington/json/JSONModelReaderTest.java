@@ -0,0 +1,154 @@
+package org.verapdf.arlington.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Checks that JSONModelReader and ObjectMapper with ItemDeserializer read the same JSONEntry/JSONValue graphs
+ * from the sample model and from arlington json files in -Darlington.model.dir (if any).
+ */
+@RunWith(Parameterized.class)
+public class JSONModelReaderTest {
+
+	private static final TypeReference<HashMap<String, Map<String, JSONEntry>>> TYPE_REFERENCE =
+			new TypeReference<HashMap<String, Map<String, JSONEntry>>>() {};
+
+	private final String name;
+	private final byte[] content;
+
+	public JSONModelReaderTest(String name, byte[] content) {
+		this.name = name;
+		this.content = content;
+	}
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> getModelFiles() throws IOException {
+		List<Object[]> result = new ArrayList<>();
+		for (Map.Entry<String, byte[]> modelFile : getModelFiles(System.getProperty("arlington.model.dir")).entrySet()) {
+			result.add(new Object[]{modelFile.getKey(), modelFile.getValue()});
+		}
+		return result;
+	}
+
+	/**
+	 * @return sample model and arlington json files of the folder
+	 */
+	public static Map<String, byte[]> getModelFiles(String folder) throws IOException {
+		Map<String, byte[]> result = new LinkedHashMap<>();
+		try (InputStream stream = JSONModelReaderTest.class.getResourceAsStream("/arlington-sample.json")) {
+			assertNotNull(stream);
+			result.put("arlington-sample.json", readAll(stream));
+		}
+		File[] files = folder != null ? new File(folder).listFiles((dir, fileName) ->
+				fileName.startsWith("arlington") && fileName.endsWith(".json")) : null;
+		if (files != null) {
+			Arrays.sort(files);
+			for (File file : files) {
+				try (InputStream stream = new FileInputStream(file)) {
+					result.put(file.getName(), readAll(stream));
+				}
+			}
+		}
+		return result;
+	}
+
+	public static ObjectMapper createObjectMapper() {
+		ObjectMapper objectMapper = new ObjectMapper();
+		objectMapper.enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+		SimpleModule module = new SimpleModule();
+		module.addDeserializer(JSONValue.class, new ItemDeserializer());
+		objectMapper.registerModule(module);
+		return objectMapper;
+	}
+
+	public static Map<String, Map<String, JSONEntry>> readTree(ObjectMapper objectMapper, byte[] content) throws IOException {
+		return objectMapper.readValue(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8),
+				TYPE_REFERENCE);
+	}
+
+	public static Map<String, Map<String, JSONEntry>> readStream(byte[] content) throws IOException {
+		return JSONModelReader.read(new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testSameEntries() throws IOException {
+		Map<String, Map<String, JSONEntry>> treeMap = readTree(createObjectMapper(), content);
+		Map<String, Map<String, JSONEntry>> streamMap = readStream(content);
+		assertEquals(name, treeMap.keySet(), streamMap.keySet());
+		for (Map.Entry<String, Map<String, JSONEntry>> mapEntry : treeMap.entrySet()) {
+			Map<String, JSONEntry> treeEntries = mapEntry.getValue();
+			Map<String, JSONEntry> streamEntries = streamMap.get(mapEntry.getKey());
+			if (treeEntries == null || streamEntries == null) {
+				assertEquals(name + " " + mapEntry.getKey(), treeEntries, streamEntries);
+				continue;
+			}
+			assertEquals(name + " " + mapEntry.getKey(), new ArrayList<>(treeEntries.keySet()),
+					new ArrayList<>(streamEntries.keySet()));
+			for (Map.Entry<String, JSONEntry> entry : treeEntries.entrySet()) {
+				assertEquals(name + " " + mapEntry.getKey() + " " + entry.getKey(), toList(entry.getValue()),
+						toList(streamEntries.get(entry.getKey())));
+			}
+		}
+	}
+
+	private static List<Object> toList(JSONEntry entry) {
+		if (entry == null) {
+			return null;
+		}
+		return Arrays.asList(entry.name, toValues(entry.types), toValueLists(entry.links),
+				toValues(entry.indirectReference), entry.inheritable, entry.note, toValueLists(entry.possibleValues),
+				toValues(entry.requiredList), toValue(entry.sinceVersion), toValue(entry.deprecatedValue),
+				toValues(entry.defaultValue), toValues(entry.specialCases));
+	}
+
+	private static List<List<Object>> toValueLists(List<List<JSONValue>> valueLists) {
+		if (valueLists == null) {
+			return null;
+		}
+		List<List<Object>> result = new ArrayList<>();
+		for (List<JSONValue> values : valueLists) {
+			result.add(toValues(values));
+		}
+		return result;
+	}
+
+	private static List<Object> toValues(List<JSONValue> values) {
+		if (values == null) {
+			return null;
+		}
+		List<Object> result = new ArrayList<>();
+		for (JSONValue value : values) {
+			result.add(toValue(value));
+		}
+		return result;
+	}
+
+	private static Object toValue(JSONValue value) {
+		if (value == null) {
+			return null;
+		}
+		return value.getValues() != null ? new ArrayList<>(value.getValues()) : value.getValue();
+	}
+
+	private static byte[] readAll(InputStream stream) throws IOException {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int length;
+		while ((length = stream.read(buffer)) != -1) {
+			result.write(buffer, 0, length);
+		}
+		return result.toByteArray();
+	}
+}
@@ -0,0 +1,73 @@
+package org.verapdf.arlington.json;
+
+import org.verapdf.arlington.PredicatesParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Predicates of the sample model and of arlington json files in the folder, with repetitions, in the same form
+ * as they are passed to PredicatesParser.
+ */
+public class ModelPredicates {
+
+	public static List<String> getPredicates(String folder) throws IOException {
+		List<String> predicates = new ArrayList<>();
+		for (byte[] content : JSONModelReaderTest.getModelFiles(folder).values()) {
+			for (Map<String, JSONEntry> entries : JSONModelReaderTest.readStream(content).values()) {
+				if (entries == null) {
+					continue;
+				}
+				for (JSONEntry entry : entries.values()) {
+					addPredicates(predicates, entry.types);
+					addPredicateLists(predicates, entry.links);
+					addPredicates(predicates, entry.indirectReference);
+					addPredicateLists(predicates, entry.possibleValues);
+					addPredicates(predicates, entry.requiredList);
+					addPredicate(predicates, entry.sinceVersion);
+					addPredicate(predicates, entry.deprecatedValue);
+					addPredicates(predicates, entry.defaultValue);
+					addPredicates(predicates, entry.specialCases);
+				}
+			}
+		}
+		return predicates;
+	}
+
+	private static void addPredicateLists(List<String> predicates, List<List<JSONValue>> valueLists) {
+		if (valueLists != null) {
+			for (List<JSONValue> values : valueLists) {
+				addPredicates(predicates, values);
+			}
+		}
+	}
+
+	private static void addPredicates(List<String> predicates, List<JSONValue> values) {
+		if (values != null) {
+			for (JSONValue value : values) {
+				addPredicate(predicates, value);
+			}
+		}
+	}
+
+	private static void addPredicate(List<String> predicates, JSONValue value) {
+		if (value == null) {
+			return;
+		}
+		if (value.getValue() != null) {
+			addPredicate(predicates, value.getValue());
+		} else if (value.getValues() != null) {
+			for (String string : value.getValues()) {
+				addPredicate(predicates, string);
+			}
+		}
+	}
+
+	private static void addPredicate(List<String> predicates, String string) {
+		if (string != null && (string.contains(PredicatesParser.PREDICATE_PREFIX) || string.contains("@"))) {
+			predicates.add(string);
+		}
+	}
+}